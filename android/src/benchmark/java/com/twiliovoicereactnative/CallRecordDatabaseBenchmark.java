@@ -0,0 +1,78 @@
+package com.twiliovoicereactnative;
+
+import com.twilio.voice.Call;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of the call record database, which the module performs for every call event and
+ * native method. The looked up record is the most recently added one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallRecordDatabaseBenchmark {
+  @Param({"1", "8", "64"})
+  public int records;
+
+  private CallRecordDatabase database;
+  private CallRecordDatabase.CallRecord byUuid;
+  private CallRecordDatabase.CallRecord byCallSid;
+  private CallRecordDatabase.CallRecord missing;
+
+  @Setup
+  public void setup() {
+    database = new CallRecordDatabase();
+    UUID uuid = null;
+    String callSid = null;
+    for (int i = 0; i < records; ++i) {
+      uuid = UUID.randomUUID();
+      callSid = String.format("CA%032d", i);
+      database.add((0 == (i & 1))
+        ? new CallRecordDatabase.CallRecord(
+            uuid, VoiceStandIns.createCallInvite(callSid, Collections.emptyMap()))
+        : new CallRecordDatabase.CallRecord(
+            uuid,
+            VoiceStandIns.createCall(callSid, Call.State.CONNECTED),
+            VoiceStandIns.TO,
+            Collections.emptyMap(),
+            CallRecordDatabase.CallRecord.Direction.OUTGOING,
+            null));
+    }
+    byUuid = new CallRecordDatabase.CallRecord(uuid);
+    byCallSid = new CallRecordDatabase.CallRecord(callSid);
+    missing = new CallRecordDatabase.CallRecord(UUID.randomUUID());
+  }
+
+  @Benchmark
+  public CallRecordDatabase.CallRecord getByUuid() {
+    return database.get(byUuid);
+  }
+
+  @Benchmark
+  public CallRecordDatabase.CallRecord getByCallSid() {
+    return database.get(byCallSid);
+  }
+
+  @Benchmark
+  public CallRecordDatabase.CallRecord getMissing() {
+    return database.get(missing);
+  }
+}
@@ -0,0 +1,49 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.JSEventEmitter.constructJSMap;
+
+import android.util.Pair;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of a map with the entry types of a typical call event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructJSMapBenchmark {
+  private final WritableMap nested = Arguments.createMap();
+
+  @Benchmark
+  public WritableMap constructMap() {
+    return constructJSMap(
+      new Pair<>(CommonConstants.CallInfoUuid, "8f1d1e8a-0000-4000-8000-000000000000"),
+      new Pair<>(CommonConstants.CallInfoSid, "CA00000000000000000000000000000001"),
+      new Pair<>(CommonConstants.CallInfoFrom, VoiceStandIns.FROM),
+      new Pair<>(CommonConstants.CallInfoTo, VoiceStandIns.TO),
+      new Pair<>(CommonConstants.CallInfoState, CommonConstants.CallStateConnected),
+      new Pair<>(CommonConstants.CallInfoIsMuted, false),
+      new Pair<>(CommonConstants.CallInfoIsOnHold, false),
+      new Pair<>(CommonConstants.CallInviteInfoCustomParameters, nested),
+      new Pair<>(CommonConstants.Timestamp, 1.7e12),
+      new Pair<>(CommonConstants.BytesSent, 8000L),
+      new Pair<>(CommonConstants.PacketsLost, 3));
+  }
+}
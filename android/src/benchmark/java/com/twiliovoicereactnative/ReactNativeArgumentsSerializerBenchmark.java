@@ -0,0 +1,65 @@
+package com.twiliovoicereactnative;
+
+import com.facebook.react.bridge.WritableMap;
+import com.twilio.voice.Call;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of calls and call invites, performed for every call event sent to the JS layer.
+ * The Voice SDK stand-ins are stub-only mocks, their getters are part of the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactNativeArgumentsSerializerBenchmark {
+  private CallRecordDatabase.CallRecord call;
+  private CallRecordDatabase.CallRecord callInvite;
+
+  @Setup
+  public void setup() {
+    call = new CallRecordDatabase.CallRecord(
+      UUID.randomUUID(),
+      VoiceStandIns.createCall("CA00000000000000000000000000000001", Call.State.CONNECTED),
+      VoiceStandIns.TO,
+      Collections.emptyMap(),
+      CallRecordDatabase.CallRecord.Direction.OUTGOING,
+      null);
+    call.setTimestamp(new Date());
+    Map<String, String> customParameters = new HashMap<>();
+    customParameters.put("displayName", "Alice");
+    customParameters.put("department", "support");
+    callInvite = new CallRecordDatabase.CallRecord(
+      UUID.randomUUID(),
+      VoiceStandIns.createCallInvite("CA00000000000000000000000000000002", customParameters));
+  }
+
+  @Benchmark
+  public WritableMap serializeCall() {
+    return ReactNativeArgumentsSerializer.serializeCall(call);
+  }
+
+  @Benchmark
+  public WritableMap serializeCallInvite() {
+    return ReactNativeArgumentsSerializer.serializeCallInvite(callInvite);
+  }
+}
@@ -0,0 +1,59 @@
+package com.twiliovoicereactnative;
+
+import android.util.Log;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a debug message on the calling thread, with debug messages discarded by the log level
+ * and with debug messages enqueued to the log ring buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SDKLogBenchmark {
+  private static final SDKLog logger = new SDKLog(SDKLogBenchmark.class);
+
+  @Param({"false", "true"})
+  public boolean debugEnabled;
+
+  private int previousLogLevel;
+  private int counter = 0;
+
+  @Setup
+  public void setup() {
+    previousLogLevel = SDKLog.getLogLevel();
+    SDKLog.setLogLevel(debugEnabled ? Log.DEBUG : Log.INFO);
+  }
+
+  @TearDown
+  public void tearDown() {
+    SDKLog.setLogLevel(previousLogLevel);
+  }
+
+  @Benchmark
+  public void debugConstant() {
+    logger.debug("onRinging");
+  }
+
+  @Benchmark
+  public void debugParameterized() {
+    logger.debug("Call %d changed state to %s", ++counter, "connected");
+  }
+}
@@ -0,0 +1,61 @@
+package com.twiliovoicereactnative;
+
+import com.twilio.voice.StatsReport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a stats report, as a full report and as a change-only report whose ICE
+ * entries are all unchanged since the previous report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsListenerProxyBenchmark {
+  private static final String UUID = "8f1d1e8a-0000-4000-8000-000000000000";
+
+  @Param({"4", "16"})
+  public int candidates;
+
+  private List<StatsReport> statsReports;
+  private StatsListenerProxy.IceStatsFingerprint fingerprint;
+
+  @Setup
+  public void setup() {
+    statsReports = Collections.singletonList(
+      VoiceStandIns.createStatsReport("pc", candidates, 1));
+    fingerprint = new StatsListenerProxy.IceStatsFingerprint();
+    new StatsListenerProxy(UUID, null, new TestPromise(), fingerprint, false).onStats(statsReports);
+  }
+
+  @Benchmark
+  public Object fullReport() {
+    TestPromise promise = new TestPromise();
+    new StatsListenerProxy(UUID, null, promise).onStats(statsReports);
+    return promise.getValue();
+  }
+
+  @Benchmark
+  public Object changeOnlyReport() {
+    TestPromise promise = new TestPromise();
+    new StatsListenerProxy(UUID, null, promise, fingerprint, true).onStats(statsReports);
+    return promise.getValue();
+  }
+}
@@ -0,0 +1,109 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getMetricsSinkDispatcher;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reference counts the audio session across concurrent calls. Each call ringing or in progress
+ * holds the session under its UUID; the audio switch is activated when the first call acquires
+ * it and deactivated only once the last call releases it, so that ending one call does not tear
+ * down the audio routing of another.
+ * <p>
+ * Acquiring again for a call that already holds the session, or releasing for a call that does
+ * not, has no effect beyond being counted.
+ */
+class AudioSessionManager {
+  private static final SDKLog logger = new SDKLog(AudioSessionManager.class);
+  private final AudioSwitchManager audioSwitchManager;
+  private final Set<UUID> holders = new LinkedHashSet<>();
+  private long activationCount = 0;
+  private long deactivationCount = 0;
+  private long unmatchedReleaseCount = 0;
+
+  AudioSessionManager(@NonNull AudioSwitchManager audioSwitchManager) {
+    this.audioSwitchManager = audioSwitchManager;
+  }
+
+  /**
+   * Hold the audio session for a call, activating it if no other call holds it.
+   * @param uuid the UUID of the call
+   */
+  synchronized void acquire(@NonNull UUID uuid) {
+    if (!holders.add(uuid)) {
+      logger.debug("acquire: audio session already held by %s", uuid);
+      return;
+    }
+    if (1 == holders.size()) {
+      ++activationCount;
+      audioSwitchManager.getAudioSwitch().activate();
+    }
+    reportHolderCount();
+  }
+
+  /**
+   * Release the audio session held by a call, deactivating it if no other call holds it.
+   * @param uuid the UUID of the call
+   */
+  synchronized void release(@NonNull UUID uuid) {
+    if (!holders.remove(uuid)) {
+      ++unmatchedReleaseCount;
+      logger.debug("release: audio session not held by %s", uuid);
+      return;
+    }
+    if (holders.isEmpty()) {
+      ++deactivationCount;
+      audioSwitchManager.getAudioSwitch().deactivate();
+    }
+    reportHolderCount();
+  }
+
+  /**
+   * @return the UUIDs of the calls holding the audio session
+   */
+  @NonNull
+  synchronized Collection<UUID> getHolders() {
+    return new ArrayList<>(holders);
+  }
+
+  /**
+   * @return the number of calls holding the audio session
+   */
+  synchronized int getHolderCount() {
+    return holders.size();
+  }
+
+  /**
+   * @return the number of times the audio session was activated
+   */
+  synchronized long getActivationCount() {
+    return activationCount;
+  }
+
+  /**
+   * @return the number of times the audio session was deactivated
+   */
+  synchronized long getDeactivationCount() {
+    return deactivationCount;
+  }
+
+  /**
+   * @return the number of releases by calls that did not hold the audio session
+   */
+  synchronized long getUnmatchedReleaseCount() {
+    return unmatchedReleaseCount;
+  }
+
+  private void reportHolderCount() {
+    final MetricsSinkDispatcher dispatcher = getMetricsSinkDispatcher();
+    if (dispatcher.isEnabled()) {
+      dispatcher.gauge(VoiceMetricsSink.AUDIO_SESSION_HOLDERS, null, holders.size());
+    }
+  }
+}
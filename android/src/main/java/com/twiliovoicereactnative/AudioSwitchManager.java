@@ -1,13 +1,28 @@
 package com.twiliovoicereactnative;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
 
 import com.twilio.audioswitch.AudioDevice;
 import com.twilio.audioswitch.AudioSwitch;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeyEarpiece;
 import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeySpeaker;
@@ -17,20 +32,133 @@ import kotlin.Unit;
 
 /**
  * AudioSwitchManager maintains a persistent AudioSwitch object and listens for audio
- * device changes. Generates UUIDs per audio device when the AudioSwitch library updates available
- * audio devices.
+ * device changes. The UUID of an audio device is derived from its type and name, so that it stays
+ * the same for as long as the physical device is available, and across restarts. Listeners are
+ * told which devices were added and removed and whether the selected device changed, rather than
+ * the whole list on every update.
+ * <p>
+ * Updates are coalesced: listeners are told of the settled state once no update came for the
+ * configured debounce period, or at the latest after the configured maximum delay, so that a
+ * Bluetooth headset connecting and disconnecting several times in a second raises a single
+ * change, or none. The loss of the selected device is told at once, since it reroutes the audio of
+ * calls. The devices returned by the getters are the last ones published by the AudioSwitch; the
+ * getters take no lock and never start the AudioSwitch, so they may be called from any thread.
+ * Queries of the devices start the AudioSwitch if needed and are answered once it has published
+ * them.
+ * <p>
+ * The AudioSwitch is only created, started and driven on the main thread. When lazy audio is
+ * enabled, it, and with it the Bluetooth and headset receivers, is only created and started once a
+ * call activates the audio session or the devices are queried, and is stopped again after the
+ * configured idle period with no calls.
  */
 class AudioSwitchManager {
+  private static final SDKLog logger = new SDKLog(AudioSwitchManager.class);
   /**
    * The functional interface of a listener to be bound to the AudioSwitchManager.
    */
   @FunctionalInterface
   interface AudioManagerListener {
-    void apply(
-      Map<String, AudioDevice> audioDevices,
-      String selectedAudioDeviceUuid,
-      AudioDevice selectedDevice
-    );
+    void apply(AudioDeviceChange change);
+  }
+
+  /**
+   * The audio devices and the selected device at one point. Immutable, so that it can be read and
+   * serialized from any thread without copying or locking.
+   */
+  static final class AudioDeviceSnapshot {
+    static final AudioDeviceSnapshot EMPTY = new AudioDeviceSnapshot(Collections.emptyMap(), null);
+    /**
+     * All available audio devices, by UUID.
+     */
+    final Map<String, AudioDevice> audioDevices;
+    final String selectedAudioDeviceUuid;
+    final AudioDevice selectedDevice;
+
+    /**
+     * @param audioDevices The available audio devices by UUID, copied
+     * @param selectedAudioDeviceUuid The UUID of the selected device, null if none
+     */
+    AudioDeviceSnapshot(Map<String, AudioDevice> audioDevices, String selectedAudioDeviceUuid) {
+      this.audioDevices = Collections.unmodifiableMap(new LinkedHashMap<>(audioDevices));
+      this.selectedAudioDeviceUuid = this.audioDevices.containsKey(selectedAudioDeviceUuid)
+        ? selectedAudioDeviceUuid
+        : null;
+      this.selectedDevice = this.audioDevices.get(this.selectedAudioDeviceUuid);
+    }
+  }
+
+  /**
+   * A change of the audio devices. Immutable, so that it can be serialized on another thread.
+   */
+  static final class AudioDeviceChange {
+    /**
+     * True if the change lists all devices, as when a listener is set, rather than a difference.
+     */
+    final boolean full;
+    /**
+     * All available audio devices after the change, by UUID.
+     */
+    final Map<String, AudioDevice> audioDevices;
+    /**
+     * The audio devices that became available, all of them if the change is full.
+     */
+    final Map<String, AudioDevice> added;
+    /**
+     * The UUIDs of the audio devices that are no longer available.
+     */
+    final Set<String> removed;
+    /**
+     * True if another device, or none, is selected.
+     */
+    final boolean selectedDeviceChanged;
+    final String selectedAudioDeviceUuid;
+    final AudioDevice selectedDevice;
+    /**
+     * The state after the change.
+     */
+    final AudioDeviceSnapshot snapshot;
+
+    private AudioDeviceChange(boolean full,
+                              AudioDeviceSnapshot snapshot,
+                              Map<String, AudioDevice> added,
+                              Set<String> removed,
+                              boolean selectedDeviceChanged) {
+      this.full = full;
+      this.snapshot = snapshot;
+      this.audioDevices = snapshot.audioDevices;
+      this.added = Collections.unmodifiableMap(added);
+      this.removed = Collections.unmodifiableSet(removed);
+      this.selectedDeviceChanged = selectedDeviceChanged;
+      this.selectedAudioDeviceUuid = snapshot.selectedAudioDeviceUuid;
+      this.selectedDevice = snapshot.selectedDevice;
+    }
+
+    /**
+     * @return a change listing all devices
+     */
+    static AudioDeviceChange full(AudioDeviceSnapshot snapshot) {
+      return new AudioDeviceChange(
+        true, snapshot, snapshot.audioDevices, Collections.emptySet(), true);
+    }
+
+    /**
+     * @return the difference between two states of the devices
+     */
+    static AudioDeviceChange diff(AudioDeviceSnapshot previous, AudioDeviceSnapshot snapshot) {
+      final Map<String, AudioDevice> added = new LinkedHashMap<>(snapshot.audioDevices);
+      added.keySet().removeAll(previous.audioDevices.keySet());
+      final Set<String> removed = new LinkedHashSet<>(previous.audioDevices.keySet());
+      removed.removeAll(snapshot.audioDevices.keySet());
+      return new AudioDeviceChange(false, snapshot, added, removed,
+        !Objects.equals(previous.selectedAudioDeviceUuid, snapshot.selectedAudioDeviceUuid));
+    }
+
+    /**
+     * @return true if nothing changed
+     */
+    boolean isEmpty() {
+      return !full && added.isEmpty() && removed.isEmpty() && !selectedDeviceChanged;
+    }
   }
 
   /**
@@ -43,64 +171,249 @@ class AudioSwitchManager {
     "Earpiece", AudioDeviceKeyEarpiece);
 
   /**
-   * Map of UUIDs to all available AudioDevices. Kept up-to-date by the AudioSwitch.
+   * The available audio devices and the selected device. Kept up-to-date by the AudioSwitch, which
+   * publishes a new snapshot on every update, so readers need no lock.
+   */
+  private final AtomicReference<AudioDeviceSnapshot> snapshot =
+    new AtomicReference<>(AudioDeviceSnapshot.EMPTY);
+  /**
+   * The AudioSwitch, null until started.
+   */
+  private AudioSwitch audioSwitch = null;
+  /**
+   * The device selected while the AudioSwitch was stopped, selected once it is started.
+   */
+  private AudioDevice pendingSelectedDevice = null;
+  /**
+   * Whether the AudioSwitch has published the devices since it was last started.
+   */
+  private boolean devicesPublished = false;
+  /**
+   * The queries of the devices waiting for the AudioSwitch to publish them.
    */
-  private final HashMap<String, AudioDevice> audioDevices;
+  private final List<Consumer<AudioDeviceSnapshot>> pendingQueries = new ArrayList<>();
   /**
-   * The AudioSwitch.
+   * The Android application context.
    */
-  private final AudioSwitch audioSwitch;
+  private final Context context;
+  /**
+   * Whether the AudioSwitch is started on first use.
+   */
+  private final boolean lazy;
+  /**
+   * Stops a lazily started AudioSwitch once unused.
+   */
+  private final IdleReleaseTimer idleReleaseTimer;
   /**
    * A listener function that is invoked when the AudioSwitch updates.
    */
   private AudioManagerListener listener = null;
   /**
-   * The UUID of the selected audio device.
+   * Notifies the listener of coalesced updates on the main thread.
+   */
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable notifyListenerRunnable = this::notifyListener;
+  /**
+   * How long updates must settle before the listener is notified, 0 to notify every update.
+   */
+  private final long debounceMillis;
+  /**
+   * The longest the listener is left unaware of updates while they keep coming.
+   */
+  private final long maxDelayMillis;
+  /**
+   * The audio devices and selected device the listener was last told of.
+   */
+  private AudioDeviceSnapshot notifiedSnapshot = AudioDeviceSnapshot.EMPTY;
+  /**
+   * The uptime of the first update not yet notified, -1 if none.
+   */
+  private long pendingSinceMillis = -1;
+  /**
+   * The number of updates not yet notified.
    */
-  private String selectedAudioDeviceUuid = null;
+  private int pendingUpdateCount = 0;
 
   /**
    * Constructor for the AudioSwitchManager class. Intended to be a singleton.
    * @param context The Android application context
    */
   public AudioSwitchManager(Context context) {
-    audioDevices = new HashMap<>();
-    audioSwitch = new AudioSwitch(context);
+    this.context = context;
+    lazy = ConfigurationProperties.isLazyAudioEnabled(context);
+    debounceMillis = Math.max(0, ConfigurationProperties.getAudioDeviceDebounceMs(context));
+    maxDelayMillis = Math.max(
+      debounceMillis, ConfigurationProperties.getAudioDeviceMaxDelayMs(context));
+    idleReleaseTimer = new IdleReleaseTimer(
+      lazy ? ConfigurationProperties.getAudioIdleReleaseMs(context) : 0,
+      this::release);
   }
 
+  /**
+   * Start the AudioSwitch, deferred to first use when lazy audio is enabled.
+   */
   public void start() {
-    audioSwitch.start((devices, selectedDevice) -> {
-
-      audioDevices.clear();
-      for (AudioDevice device : devices) {
-        String uuid = UUID.randomUUID().toString();
-        audioDevices.put(uuid, device);
-        if (device.equals(selectedDevice)) {
-          selectedAudioDeviceUuid = uuid;
-        }
+    if (!lazy) {
+      acquire();
+    }
+  }
+
+  public void stop() {
+    final List<Consumer<AudioDeviceSnapshot>> queries;
+    synchronized (this) {
+      idleReleaseTimer.cancel();
+      handler.removeCallbacks(notifyListenerRunnable);
+      pendingSelectedDevice = null;
+      release();
+      queries = takePendingQueries();
+    }
+    // answer the queries with the last known devices rather than leave them waiting
+    for (Consumer<AudioDeviceSnapshot> query : queries) {
+      query.accept(snapshot.get());
+    }
+  }
+
+  /**
+   * Create and start the AudioSwitch if it is not started, and restart the idle period. Invoked on
+   * the main thread.
+   * @return The started AudioSwitch
+   */
+  @NonNull
+  private synchronized AudioSwitch acquire() {
+    if (null == audioSwitch) {
+      audioSwitch = new AudioSwitch(context);
+      audioSwitch.start(this::onAudioDevicesUpdated);
+      if (null != pendingSelectedDevice) {
+        audioSwitch.selectDevice(pendingSelectedDevice);
+        pendingSelectedDevice = null;
       }
+    }
+    idleReleaseTimer.touch();
+    return audioSwitch;
+  }
 
-      if (this.listener != null) {
-        this.listener.apply(audioDevices, selectedAudioDeviceUuid, selectedDevice);
+  /**
+   * Stop an idle AudioSwitch. The last known audio devices are kept, the devices found once it is
+   * started again are compared to them, but queries wait for those.
+   */
+  private synchronized void release() {
+    if (null != audioSwitch) {
+      audioSwitch.stop();
+      audioSwitch = null;
+    }
+    devicesPublished = false;
+  }
+
+  @NonNull
+  private synchronized List<Consumer<AudioDeviceSnapshot>> takePendingQueries() {
+    final List<Consumer<AudioDeviceSnapshot>> queries = new ArrayList<>(pendingQueries);
+    pendingQueries.clear();
+    return queries;
+  }
+
+  private Unit onAudioDevicesUpdated(List<? extends AudioDevice> devices,
+                                     AudioDevice selectedDevice) {
+    final Map<String, AudioDevice> updatedAudioDevices = identifyAudioDevices(devices);
+    String updatedSelectedAudioDeviceUuid = null;
+    for (Map.Entry<String, AudioDevice> entry : updatedAudioDevices.entrySet()) {
+      if (entry.getValue().equals(selectedDevice)) {
+        updatedSelectedAudioDeviceUuid = entry.getKey();
       }
-      return Unit.INSTANCE;
-    });
+    }
+    final AudioDeviceSnapshot updatedSnapshot =
+      new AudioDeviceSnapshot(updatedAudioDevices, updatedSelectedAudioDeviceUuid);
+    final List<Consumer<AudioDeviceSnapshot>> queries;
+    synchronized (this) {
+      snapshot.set(updatedSnapshot);
+      devicesPublished = true;
+      queries = takePendingQueries();
+      scheduleNotification((null != notifiedSnapshot.selectedAudioDeviceUuid)
+        && !updatedAudioDevices.containsKey(notifiedSnapshot.selectedAudioDeviceUuid));
+    }
+    for (Consumer<AudioDeviceSnapshot> query : queries) {
+      query.accept(updatedSnapshot);
+    }
+    return Unit.INSTANCE;
   }
 
-  public void stop() {
-    audioSwitch.stop();
+  /**
+   * Notify the listener on the main thread once updates settle, or at once.
+   * @param immediate true to notify without waiting, as when the selected device is lost
+   */
+  private synchronized void scheduleNotification(boolean immediate) {
+    final long now = SystemClock.uptimeMillis();
+    if (pendingSinceMillis < 0) {
+      pendingSinceMillis = now;
+    }
+    ++pendingUpdateCount;
+    handler.removeCallbacks(notifyListenerRunnable);
+    if (immediate || (0 == debounceMillis)) {
+      handler.post(notifyListenerRunnable);
+    } else {
+      handler.postDelayed(notifyListenerRunnable,
+        Math.max(0, Math.min(debounceMillis, pendingSinceMillis + maxDelayMillis - now)));
+    }
   }
 
   /**
-   * Set a listener for the AudioSwitchManager. The listener function is invoked every time the
-   * AudioSwitch updates. Also invoked at the point the listener is set.
+   * Notify the listener of the difference between the devices it was last told of and the
+   * current ones, if any. The difference is taken under the lock, the listener is invoked outside
+   * of it.
+   */
+  private void notifyListener() {
+    final AudioManagerListener currentListener;
+    final AudioDeviceChange change;
+    synchronized (this) {
+      handler.removeCallbacks(notifyListenerRunnable);
+      if (pendingUpdateCount > 1) {
+        logger.debug("Coalesced %d audio device updates", pendingUpdateCount);
+      }
+      pendingSinceMillis = -1;
+      pendingUpdateCount = 0;
+      change = AudioDeviceChange.diff(notifiedSnapshot, snapshot.get());
+      notifiedSnapshot = change.snapshot;
+      currentListener = this.listener;
+    }
+    if ((currentListener != null) && !change.isEmpty()) {
+      currentListener.apply(change);
+    }
+  }
+
+  /**
+   * Derive the UUIDs of audio devices from their type and name. Devices of the same type and name,
+   * such as two headsets of the same model, are told apart by their order.
+   * @param devices The available audio devices
+   * @return A map of UUIDs to the devices, in the order of the devices
+   */
+  static Map<String, AudioDevice> identifyAudioDevices(List<? extends AudioDevice> devices) {
+    final Map<String, AudioDevice> identified = new LinkedHashMap<>();
+    final Map<String, Integer> occurrences = new HashMap<>();
+    for (AudioDevice device : devices) {
+      final String key = device.getClass().getSimpleName() + ":" + device.getName();
+      final int occurrence = occurrences.merge(key, 1, Integer::sum);
+      final String uuid = UUID.nameUUIDFromBytes(
+        ((occurrence > 1) ? key + "#" + occurrence : key).getBytes(StandardCharsets.UTF_8))
+        .toString();
+      identified.put(uuid, device);
+    }
+    return identified;
+  }
+
+  /**
+   * Set a listener for the AudioSwitchManager. The listener function is invoked on the main
+   * thread every time the audio devices change. Also invoked with all devices at the point the
+   * listener is set.
    * @param listener A listener function.
    * @return The singleton AudioSwitchManager.
    */
   public AudioSwitchManager setListener(AudioManagerListener listener) {
-    this.listener = listener;
-
-    this.listener.apply(audioDevices, selectedAudioDeviceUuid, getSelectedAudioDevice());
+    final AudioDeviceChange change;
+    synchronized (this) {
+      this.listener = listener;
+      change = AudioDeviceChange.full(snapshot.get());
+      notifiedSnapshot = change.snapshot;
+    }
+    handler.post(() -> listener.apply(change));
 
     return this;
   }
@@ -108,19 +421,66 @@ class AudioSwitchManager {
   /**
    * Get the AudioSwitch. Note that the AudioSwitchManager is a singleton, and only instantiates an
    * AudioSwitch once in the construction of the AudioSwitchManager. Therefore, there should only be one
-   * AudioSwitch object and it is effectively a singleton.
+   * AudioSwitch object and it is effectively a singleton. Starts the AudioSwitch if it is not
+   * started, so it must be called on the main thread, as the audio session is activated.
    * @return The AudioSwitch singleton
    */
   public AudioSwitch getAudioSwitch() {
-    return audioSwitch;
+    return acquire();
+  }
+
+  /**
+   * Select an audio device. May be called from any thread, the device is selected on the main
+   * thread. If the AudioSwitch is stopped, the device is selected once it is started.
+   * @param audioDevice The audio device to select
+   */
+  public void selectAudioDevice(@NonNull AudioDevice audioDevice) {
+    handler.post(() -> {
+      synchronized (this) {
+        if (null != audioSwitch) {
+          audioSwitch.selectDevice(audioDevice);
+        } else {
+          pendingSelectedDevice = audioDevice;
+        }
+      }
+    });
+  }
+
+  /**
+   * Query the audio devices. May be called from any thread. The AudioSwitch is started on the main
+   * thread if it is not, as when lazy audio is enabled and no call was made yet, or it was released
+   * while idle, and the query is answered once it has published the devices, so that they are
+   * neither missing nor stale.
+   * @param callback Invoked on the main thread with the audio devices
+   */
+  public void queryAudioDevices(@NonNull Consumer<AudioDeviceSnapshot> callback) {
+    handler.post(() -> {
+      acquire();
+      synchronized (this) {
+        if (!devicesPublished) {
+          pendingQueries.add(callback);
+          return;
+        }
+      }
+      callback.accept(snapshot.get());
+    });
+  }
+
+  /**
+   * Get the audio devices and the selected device, consistent with each other, as last published.
+   * May be called from any thread.
+   * @return An immutable snapshot of the audio devices
+   */
+  public AudioDeviceSnapshot getAudioDeviceSnapshot() {
+    return snapshot.get();
   }
 
   /**
-   * Get the audio devices.
-   * @return A map of UUIDs to available audio devices
+   * Get all audio devices.
+   * @return An immutable map of UUIDs to available audio devices
    */
-  public HashMap<String, AudioDevice> getAudioDevices() {
-    return audioDevices;
+  public Map<String, AudioDevice> getAudioDevices() {
+    return getAudioDeviceSnapshot().audioDevices;
   }
 
   /**
@@ -128,7 +488,7 @@ class AudioSwitchManager {
    * @return The UUID of the selected audio device.
    */
   public String getSelectedAudioDeviceUuid() {
-    return selectedAudioDeviceUuid;
+    return getAudioDeviceSnapshot().selectedAudioDeviceUuid;
   }
 
   /**
@@ -136,6 +496,6 @@ class AudioSwitchManager {
    * @return The selected audio device.
    */
   public AudioDevice getSelectedAudioDevice() {
-    return audioDevices.get(selectedAudioDeviceUuid);
+    return getAudioDeviceSnapshot().selectedDevice;
   }
 }
@@ -0,0 +1,133 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopAcceptToConnected;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopConnectToRinging;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopEventToAccept;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopInviteToAccept;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopInviteToNotification;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopNotificationToEvent;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopPushToInvite;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopRingingToConnected;
+import static com.twiliovoicereactnative.CommonConstants.MetricsHopTotal;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Monotonic timestamps of the stages a call goes through while it is being set up. Stages can be
+ * marked from any thread; a stage is only marked once so that retried or repeated callbacks do not
+ * skew the measured hops.
+ */
+class CallLatencyTrace {
+  enum Stage {
+    PUSH_RECEIVED,
+    INVITE_RECEIVED,
+    NOTIFICATION_POSTED,
+    EVENT_EMITTED,
+    ACCEPT_INVOKED,
+    CONNECT_INVOKED,
+    RINGING,
+    CONNECTED
+  }
+
+  /**
+   * The measured intervals of an incoming call, each between two consecutive stages.
+   */
+  enum IncomingHop {
+    PUSH_TO_INVITE(MetricsHopPushToInvite, Stage.PUSH_RECEIVED, Stage.INVITE_RECEIVED),
+    INVITE_TO_NOTIFICATION(
+      MetricsHopInviteToNotification, Stage.INVITE_RECEIVED, Stage.NOTIFICATION_POSTED),
+    NOTIFICATION_TO_EVENT(
+      MetricsHopNotificationToEvent, Stage.NOTIFICATION_POSTED, Stage.EVENT_EMITTED),
+    EVENT_TO_ACCEPT(MetricsHopEventToAccept, Stage.EVENT_EMITTED, Stage.ACCEPT_INVOKED),
+    ACCEPT_TO_CONNECTED(MetricsHopAcceptToConnected, Stage.ACCEPT_INVOKED, Stage.CONNECTED),
+    TOTAL(MetricsHopTotal, Stage.PUSH_RECEIVED, Stage.CONNECTED);
+
+    final String key;
+    final Stage from;
+    final Stage to;
+
+    IncomingHop(String key, Stage from, Stage to) {
+      this.key = key;
+      this.from = from;
+      this.to = to;
+    }
+  }
+
+  /**
+   * The measured intervals of call setup, from the call being requested to it being connected.
+   */
+  enum SetupHop {
+    INCOMING_INVITE_TO_ACCEPT(
+      true, MetricsHopInviteToAccept, Stage.INVITE_RECEIVED, Stage.ACCEPT_INVOKED),
+    INCOMING_ACCEPT_TO_CONNECTED(
+      true, MetricsHopAcceptToConnected, Stage.ACCEPT_INVOKED, Stage.CONNECTED),
+    INCOMING_TOTAL(true, MetricsHopTotal, Stage.INVITE_RECEIVED, Stage.CONNECTED),
+    OUTGOING_CONNECT_TO_RINGING(
+      false, MetricsHopConnectToRinging, Stage.CONNECT_INVOKED, Stage.RINGING),
+    OUTGOING_RINGING_TO_CONNECTED(
+      false, MetricsHopRingingToConnected, Stage.RINGING, Stage.CONNECTED),
+    OUTGOING_TOTAL(false, MetricsHopTotal, Stage.CONNECT_INVOKED, Stage.CONNECTED);
+
+    final boolean incoming;
+    final String key;
+    final Stage from;
+    final Stage to;
+
+    SetupHop(boolean incoming, String key, Stage from, Stage to) {
+      this.incoming = incoming;
+      this.key = key;
+      this.from = from;
+      this.to = to;
+    }
+  }
+
+  private static final long UNSET = Long.MIN_VALUE;
+  private final AtomicLongArray timestamps = new AtomicLongArray(Stage.values().length);
+
+  CallLatencyTrace() {
+    for (int i = 0; i < timestamps.length(); ++i) {
+      timestamps.set(i, UNSET);
+    }
+  }
+
+  /**
+   * Mark a stage as reached now.
+   */
+  void mark(@NonNull Stage stage) {
+    mark(stage, System.nanoTime());
+  }
+
+  /**
+   * Mark a stage as reached at the given time.
+   * @param stage the stage
+   * @param nanoTime a {@link System#nanoTime()} timestamp
+   */
+  void mark(@NonNull Stage stage, long nanoTime) {
+    timestamps.compareAndSet(stage.ordinal(), UNSET, nanoTime);
+  }
+
+  boolean isMarked(@NonNull Stage stage) {
+    return timestamps.get(stage.ordinal()) != UNSET;
+  }
+
+  /**
+   * @return the {@link System#nanoTime()} timestamp of the stage, only meaningful if marked
+   */
+  long getTimestamp(@NonNull Stage stage) {
+    return timestamps.get(stage.ordinal());
+  }
+
+  /**
+   * @return the duration between two stages in microseconds, or -1 if either is not marked
+   */
+  long getIntervalMicros(@NonNull Stage from, @NonNull Stage to) {
+    final long start = timestamps.get(from.ordinal());
+    final long end = timestamps.get(to.ordinal());
+    if (UNSET == start || UNSET == end) {
+      return -1;
+    }
+    return (end - start) / 1000L;
+  }
+}
@@ -11,6 +11,7 @@ import com.twilio.voice.Call;
 import com.twilio.voice.CallException;
 
 import static com.twiliovoicereactnative.CommonConstants.CallEventConnected;
+import static com.twiliovoicereactnative.CommonConstants.CallEventKeyLatency;
 import static com.twiliovoicereactnative.CommonConstants.CallEventDisconnected;
 import static com.twiliovoicereactnative.CommonConstants.CallEventReconnected;
 import static com.twiliovoicereactnative.CommonConstants.CallEventReconnecting;
@@ -25,8 +26,10 @@ import static com.twiliovoicereactnative.CommonConstants.CallEventQualityWarning
 import static com.twiliovoicereactnative.Constants.JS_EVENT_KEY_CALL_INFO;
 import static com.twiliovoicereactnative.VoiceApplicationProxy.getCallRecordDatabase;
 import static com.twiliovoicereactnative.VoiceApplicationProxy.getJSEventEmitter;
-import static com.twiliovoicereactnative.VoiceApplicationProxy.getAudioSwitchManager;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getAudioSessionManager;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getDtmfTonePlayer;
 import static com.twiliovoicereactnative.VoiceApplicationProxy.getMediaPlayerManager;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getVoiceMetrics;
 import static com.twiliovoicereactnative.VoiceApplicationProxy.getVoiceServiceApi;
 import static com.twiliovoicereactnative.JSEventEmitter.constructJSMap;
 import static com.twiliovoicereactnative.ReactNativeArgumentsSerializer.*;
@@ -37,6 +40,7 @@ import java.util.Date;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 class CallListenerProxy implements Call.Listener {
   private static final SDKLog logger = new SDKLog(CallListenerProxy.class);
@@ -50,11 +54,20 @@ class CallListenerProxy implements Call.Listener {
 
   @Override
   public void onConnectFailure(@NonNull Call call, @NonNull CallException callException) {
+    try (VoiceTrace.Section ignored =
+           VoiceTrace.beginSection("CallListenerProxy.onConnectFailure")) {
+      onConnectFailureInternal(call, callException);
+    }
+  }
+
+  private void onConnectFailureInternal(@NonNull Call call,
+                                        @NonNull CallException callException) {
     debug("onConnectFailure");
+    VoiceTrace.endAsyncSection(VoiceTrace.ASYNC_CALL_CONNECT, uuid);
 
     // stop sound and routing
-    getMediaPlayerManager().stop();
-    getAudioSwitchManager().getAudioSwitch().deactivate();
+    getMediaPlayerManager().stop(uuid);
+    getAudioSessionManager().release(uuid);
 
     // find call record & remove
     CallRecord callRecord = Objects.requireNonNull(getCallRecordDatabase().remove(new CallRecord(uuid)));
@@ -64,7 +77,7 @@ class CallListenerProxy implements Call.Listener {
 
     // serialize and notify JS
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventConnectFailure),
         new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord)),
         new Pair<>(VoiceErrorKeyError, serializeVoiceException(callException))));
@@ -72,44 +85,74 @@ class CallListenerProxy implements Call.Listener {
 
   @Override
   public void onRinging(@NonNull Call call) {
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("CallListenerProxy.onRinging")) {
+      onRingingInternal(call);
+    }
+  }
+
+  private void onRingingInternal(@NonNull Call call) {
     debug("onRinging");
 
     // find call record
     CallRecord callRecord = Objects.requireNonNull(getCallRecordDatabase().get(new CallRecord(uuid)));
     callRecord.setCall(call);
+    callRecord.getLatencyTrace().mark(CallLatencyTrace.Stage.RINGING);
 
     // create notification & sound
     callRecord.setNotificationId(NotificationUtility.createNotificationIdentifier());
-    getAudioSwitchManager().getAudioSwitch().activate();
-    getMediaPlayerManager().play(MediaPlayerManager.SoundTable.RINGTONE);
+    getAudioSessionManager().acquire(uuid);
+    getMediaPlayerManager().play(uuid, MediaPlayerManager.SoundTable.RINGTONE);
     getVoiceServiceApi().raiseOutgoingCallNotification(callRecord);
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventRinging),
         new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord))));
   }
 
   @Override
   public void onConnected(@NonNull Call call) {
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("CallListenerProxy.onConnected")) {
+      onConnectedInternal(call);
+    }
+  }
+
+  private void onConnectedInternal(@NonNull Call call) {
     debug("onConnected");
+    VoiceTrace.endAsyncSection(VoiceTrace.ASYNC_CALL_CONNECT, uuid);
 
     // find call record
     CallRecord callRecord = Objects.requireNonNull(getCallRecordDatabase().get(new CallRecord(uuid)));
     callRecord.setCall(call);
     callRecord.setTimestamp(new Date());
-    getMediaPlayerManager().stop();
+    getMediaPlayerManager().stop(uuid);
+    getDtmfTonePlayer().onCallConnected(uuid);
+
+    // record setup latency
+    final CallLatencyTrace latencyTrace = callRecord.getLatencyTrace();
+    latencyTrace.mark(CallLatencyTrace.Stage.CONNECTED);
+    final boolean isIncoming = CallRecord.Direction.INCOMING == callRecord.getDirection();
+    getVoiceMetrics().recordConnectedCall(isIncoming, latencyTrace);
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventConnected),
-        new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord))));
+        new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord)),
+        new Pair<>(CallEventKeyLatency,
+          isIncoming ? VoiceMetrics.serializeIncomingCallLatency(latencyTrace) : null)));
   }
 
   @Override
   public void onReconnecting(@NonNull Call call, @NonNull CallException callException) {
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("CallListenerProxy.onReconnecting")) {
+      onReconnectingInternal(call, callException);
+    }
+  }
+
+  private void onReconnectingInternal(@NonNull Call call,
+                                      @NonNull CallException callException) {
     debug("onReconnecting");
 
     // find & update call record
@@ -117,7 +160,7 @@ class CallListenerProxy implements Call.Listener {
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventReconnecting),
         new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord)),
         new Pair<>(VoiceErrorKeyError, serializeVoiceException(callException))));
@@ -125,6 +168,12 @@ class CallListenerProxy implements Call.Listener {
 
   @Override
   public void onReconnected(@NonNull Call call) {
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("CallListenerProxy.onReconnected")) {
+      onReconnectedInternal(call);
+    }
+  }
+
+  private void onReconnectedInternal(@NonNull Call call) {
     debug("onReconnected");
 
     // find & update call record
@@ -132,27 +181,37 @@ class CallListenerProxy implements Call.Listener {
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventReconnected),
         new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord))));
   }
 
   @Override
   public void onDisconnected(@NonNull Call call, @Nullable CallException callException) {
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("CallListenerProxy.onDisconnected")) {
+      onDisconnectedInternal(call, callException);
+    }
+  }
+
+  private void onDisconnectedInternal(@NonNull Call call,
+                                      @Nullable CallException callException) {
     debug("onDisconnected");
+    // ends the slice of calls hung up before connecting, ignored if it already ended
+    VoiceTrace.endAsyncSection(VoiceTrace.ASYNC_CALL_CONNECT, uuid);
 
     // find & remove call record
     CallRecord callRecord = Objects.requireNonNull(getCallRecordDatabase().remove(new CallRecord(uuid)));
 
     // stop audio & cancel notification
-    getMediaPlayerManager().stop();
-    getMediaPlayerManager().play(MediaPlayerManager.SoundTable.DISCONNECT);
-    getAudioSwitchManager().getAudioSwitch().deactivate();
+    getMediaPlayerManager().stop(uuid);
+    getMediaPlayerManager().play(uuid, MediaPlayerManager.SoundTable.DISCONNECT);
+    getAudioSessionManager().release(uuid);
+    getDtmfTonePlayer().onCallEnded(uuid);
     getVoiceServiceApi().cancelActiveCallNotification(callRecord);
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventDisconnected),
         new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord)),
         new Pair<>(VoiceErrorKeyError, serializeVoiceException(callException))));
@@ -162,6 +221,15 @@ class CallListenerProxy implements Call.Listener {
   public void onCallQualityWarningsChanged(@NonNull Call call,
                                            @NonNull Set<Call.CallQualityWarning> currentWarnings,
                                            @NonNull Set<Call.CallQualityWarning> previousWarnings) {
+    try (VoiceTrace.Section ignored =
+           VoiceTrace.beginSection("CallListenerProxy.onCallQualityWarningsChanged")) {
+      onCallQualityWarningsChangedInternal(call, currentWarnings, previousWarnings);
+    }
+  }
+
+  private void onCallQualityWarningsChangedInternal(@NonNull Call call,
+                                                    @NonNull Set<Call.CallQualityWarning> currentWarnings,
+                                                    @NonNull Set<Call.CallQualityWarning> previousWarnings) {
     debug("onCallQualityWarningsChanged");
 
     // find call record
@@ -169,18 +237,18 @@ class CallListenerProxy implements Call.Listener {
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventQualityWarningsChanged),
         new Pair<>(JS_EVENT_KEY_CALL_INFO, serializeCall(callRecord)),
         new Pair<>(CallEventCurrentWarnings, serializeCallQualityWarnings(currentWarnings)),
         new Pair<>(CallEventPreviousWarnings, serializeCallQualityWarnings(previousWarnings))));
   }
 
-  private void sendJSEvent(@NonNull WritableMap event) {
+  private void sendJSEvent(@NonNull Supplier<WritableMap> event) {
     getJSEventEmitter().sendEvent(ScopeCall, event);
   }
 
   private void debug(final String message) {
-    logger.debug(String.format("%s UUID:%s", message, uuid.toString()));
+    logger.debug("%s UUID:%s", message, uuid);
   }
 }
@@ -33,6 +33,7 @@ import com.twilio.voice.VoiceException;
 import com.twiliovoicereactnative.CallRecordDatabase.CallRecord;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 
 public class CallMessageListenerProxy implements Call.CallMessageListener {
@@ -44,7 +45,7 @@ public class CallMessageListenerProxy implements Call.CallMessageListener {
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventMessageFailure),
         new Pair<>(VoiceEventSid, voiceEventSID),
         new Pair<>(VoiceErrorKeyError, serializeVoiceException(voiceException))
@@ -58,7 +59,7 @@ public class CallMessageListenerProxy implements Call.CallMessageListener {
 
     // notify JS layer
     sendJSEvent(
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventMessageSent),
         new Pair<>(VoiceEventSid, voiceEventSID)
     ));
@@ -88,7 +89,7 @@ public class CallMessageListenerProxy implements Call.CallMessageListener {
 
     getJSEventEmitter().sendEvent(
       event,
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, CallEventMessageReceived),
         new Pair<>(JS_EVENT_KEY_CALL_INFO, serializedCallMap),
         new Pair<>(JSEventKeyCallMessageInfo, serializeCallMessage(callMessage)),
@@ -97,7 +98,7 @@ public class CallMessageListenerProxy implements Call.CallMessageListener {
     );
   }
 
-  private void sendJSEvent(@NonNull WritableMap event) {
+  private void sendJSEvent(@NonNull Supplier<WritableMap> event) {
     getJSEventEmitter().sendEvent(ScopeCallMessage, event);
   }
 }
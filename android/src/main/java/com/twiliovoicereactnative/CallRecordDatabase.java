@@ -3,6 +3,7 @@ package com.twiliovoicereactnative;
 import static com.twiliovoicereactnative.CallRecordDatabase.CallRecord.CallInviteState.ACTIVE;
 import static com.twiliovoicereactnative.CallRecordDatabase.CallRecord.CallInviteState.NONE;
 import static com.twiliovoicereactnative.CallRecordDatabase.CallRecord.CallInviteState.USED;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getMetricsSinkDispatcher;
 
 import java.util.Collection;
 import java.util.Date;
@@ -38,6 +39,9 @@ class CallRecordDatabase  {
     private Map<String, String> customParameters = null;
     private String notificationDisplayName = null;
     private Direction direction = Direction.INCOMING;
+    private final StatsListenerProxy.IceStatsFingerprint iceStatsFingerprint =
+      new StatsListenerProxy.IceStatsFingerprint();
+    private final CallLatencyTrace latencyTrace = new CallLatencyTrace();
     public CallRecord(final UUID uuid) {
       this.uuid = uuid;
     }
@@ -113,6 +117,12 @@ class CallRecordDatabase  {
       return this.callException;
     }
     public String getCallRecipient() { return this.callRecipient; }
+    public StatsListenerProxy.IceStatsFingerprint getIceStatsFingerprint() {
+      return this.iceStatsFingerprint;
+    }
+    public CallLatencyTrace getLatencyTrace() {
+      return this.latencyTrace;
+    }
     public void setNotificationId(int notificationId) {
       this.notificationId = notificationId;
     }
@@ -150,9 +160,11 @@ class CallRecordDatabase  {
 
   public void add(final CallRecord callRecord) {
     callRecordList.add(callRecord);
+    reportSize();
   }
   public void clear() {
     callRecordList.clear();
+    reportSize();
   }
 
   public CallRecord get(final CallRecord record) {
@@ -167,11 +179,19 @@ class CallRecordDatabase  {
       return callRecordList.remove(callRecordList.indexOf(record));
     } catch (IndexOutOfBoundsException e) {
       return null;
+    } finally {
+      reportSize();
     }
   }
   public Collection<CallRecord> getCollection() {
     return callRecordList;
   }
+  private void reportSize() {
+    final MetricsSinkDispatcher dispatcher = getMetricsSinkDispatcher();
+    if (dispatcher.isEnabled()) {
+      dispatcher.gauge(VoiceMetricsSink.CALL_RECORDS_ALIVE, null, callRecordList.size());
+    }
+  }
   private static boolean comparator(@NonNull final CallRecord lhs, @NonNull final CallRecord rhs) {
     if (null != lhs.uuid && null != rhs.uuid) {
       return lhs.uuid.equals(rhs.uuid);
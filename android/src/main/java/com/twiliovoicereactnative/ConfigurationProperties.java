@@ -23,4 +23,98 @@ class ConfigurationProperties {
     return context.getResources()
       .getBoolean(R.bool.twiliovoicereactnative_firebasemessagingservice_enabled);
   }
+
+  /**
+   * Get configuration integer, used to size the in-memory diagnostic log.
+   * @param context the application context
+   * @return the size of the diagnostic log in kilobytes, 0 if disabled
+   */
+  public static int getDiagnosticLogSizeKb(Context context) {
+    return context.getResources()
+      .getInteger(R.integer.twiliovoicereactnative_diagnostic_log_size_kb);
+  }
+
+  /**
+   * Get configuration boolean, used to determine if AudioSwitch and the sounds are set up on first
+   * use instead of when the application starts.
+   * @param context the application context
+   * @return a boolean read from the application resources
+   */
+  public static boolean isLazyAudioEnabled(Context context) {
+    return context.getResources()
+      .getBoolean(R.bool.twiliovoicereactnative_lazy_audio_enabled);
+  }
+
+  /**
+   * Get configuration integer, used to release lazily set up audio resources once unused.
+   * @param context the application context
+   * @return the idle period in milliseconds after which they are released, 0 to never release
+   */
+  public static int getAudioIdleReleaseMs(Context context) {
+    return context.getResources()
+      .getInteger(R.integer.twiliovoicereactnative_audio_idle_release_ms);
+  }
+
+  /**
+   * Get configuration integer, used to wait for audio device updates to settle before notifying
+   * the JS layer.
+   * @param context the application context
+   * @return the debounce period in milliseconds, 0 to notify every update
+   */
+  public static int getAudioDeviceDebounceMs(Context context) {
+    return context.getResources()
+      .getInteger(R.integer.twiliovoicereactnative_audio_device_debounce_ms);
+  }
+
+  /**
+   * Get configuration integer, used to bound the delay of audio device updates that keep coming.
+   * @param context the application context
+   * @return the maximum delay in milliseconds
+   */
+  public static int getAudioDeviceMaxDelayMs(Context context) {
+    return context.getResources()
+      .getInteger(R.integer.twiliovoicereactnative_audio_device_max_delay_ms);
+  }
+
+  /**
+   * Get configuration integer, used to cap the number of call sounds playing at the same time.
+   * @param context the application context
+   * @return the maximum number of sound streams
+   */
+  public static int getSoundMaxStreams(Context context) {
+    return context.getResources()
+      .getInteger(R.integer.twiliovoicereactnative_sound_max_streams);
+  }
+
+  /**
+   * Get configuration integer, used to bound the memory of the decoded custom sounds kept for
+   * switching between them without decoding again.
+   * @param context the application context
+   * @return the size of the custom sound cache in kilobytes, 0 if disabled
+   */
+  public static int getSoundCacheSizeKb(Context context) {
+    return context.getResources()
+      .getInteger(R.integer.twiliovoicereactnative_sound_cache_size_kb);
+  }
+
+  /**
+   * Get configuration boolean, used to determine if the incoming, ringback and disconnect sounds
+   * play through the low-latency tone engine instead of SoundPool.
+   * @param context the application context
+   * @return a boolean read from the application resources
+   */
+  public static boolean isToneEngineEnabled(Context context) {
+    return context.getResources()
+      .getBoolean(R.bool.twiliovoicereactnative_tone_engine_enabled);
+  }
+
+  /**
+   * Get configuration boolean, used to determine if DTMF digits sent by a call play local tones.
+   * @param context the application context
+   * @return a boolean read from the application resources
+   */
+  public static boolean isDtmfFeedbackEnabled(Context context) {
+    return context.getResources()
+      .getBoolean(R.bool.twiliovoicereactnative_dtmf_feedback_enabled);
+  }
 }
@@ -0,0 +1,101 @@
+package com.twiliovoicereactnative;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A bounded in-memory history of the most recent log entries of the module, kept so that they
+ * can be exported for support tickets when logcat is not available. Entries are stored as
+ * compact lines of the form `<epoch millis> <level> <tag>: <message>` in a preallocated character
+ * ring. Appending does not allocate, the oldest entries are overwritten once the ring is full.
+ */
+class DiagnosticLogRing {
+  private static final char[] LEVEL_CHARS = { '?', '?', 'V', 'D', 'I', 'W', 'E', 'A' };
+  private final char[] ring;
+  private final char[] digits = new char[20];
+  private int position = 0;
+  private boolean wrapped = false;
+
+  /**
+   * @param sizeKb the size of the ring in kilobytes
+   */
+  DiagnosticLogRing(final int sizeKb) {
+    ring = new char[Math.max(1, sizeKb * 1024 / Character.BYTES)];
+  }
+
+  /**
+   * Append an entry to the ring.
+   * @param timestamp wall-clock time of the entry in milliseconds since epoch
+   * @param level the logcat priority of the entry
+   * @param tag the tag of the entry
+   * @param message the message of the entry
+   */
+  synchronized void append(final long timestamp,
+                           final int level,
+                           @NonNull final String tag,
+                           @NonNull final CharSequence message) {
+    appendTimestamp(timestamp);
+    append(' ');
+    append((level >= 0 && level < LEVEL_CHARS.length) ? LEVEL_CHARS[level] : '?');
+    append(' ');
+    append(tag);
+    append(':');
+    append(' ');
+    append(message);
+    append('\n');
+  }
+
+  /**
+   * @return the retained entries, oldest first. A partially overwritten oldest entry is omitted.
+   */
+  @NonNull
+  synchronized String snapshot() {
+    if (!wrapped) {
+      return new String(ring, 0, position);
+    }
+    // skip the remains of the partially overwritten entry
+    int start = position;
+    while (start < ring.length && ring[start] != '\n') {
+      ++start;
+    }
+    StringBuilder snapshot = new StringBuilder(ring.length);
+    if (start < ring.length) {
+      snapshot.append(ring, start + 1, ring.length - start - 1);
+    }
+    snapshot.append(ring, 0, position);
+    return snapshot.toString();
+  }
+
+  synchronized void clear() {
+    position = 0;
+    wrapped = false;
+  }
+
+  int getCapacity() {
+    return ring.length;
+  }
+
+  private void appendTimestamp(long timestamp) {
+    int count = 0;
+    do {
+      digits[count++] = (char)('0' + (timestamp % 10));
+      timestamp /= 10;
+    } while (timestamp > 0 && count < digits.length);
+    while (count > 0) {
+      append(digits[--count]);
+    }
+  }
+
+  private void append(@NonNull final CharSequence text) {
+    for (int i = 0; i < text.length(); ++i) {
+      append(text.charAt(i));
+    }
+  }
+
+  private void append(final char c) {
+    ring[position++] = c;
+    if (position == ring.length) {
+      position = 0;
+      wrapped = true;
+    }
+  }
+}
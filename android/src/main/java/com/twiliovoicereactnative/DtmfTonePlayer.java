@@ -0,0 +1,202 @@
+package com.twiliovoicereactnative;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioManager;
+import android.media.AudioTrack;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Plays local feedback for the DTMF digits sent by a call. The dual tones are synthesized once
+ * into sine tables per key, at the native output rate so no resampling is involved, and written
+ * to a low-latency streaming {@link AudioTrack} from a dedicated thread, so that callers never
+ * block. The track is created when a call connects and kept playing until the last connected call
+ * ends, so that no digit waits for the track to be built. Digits of calls that are not connected
+ * play no feedback.
+ * <p>
+ * Feedback is off unless enabled by configuration.
+ */
+class DtmfTonePlayer {
+  private static final String KEYS = "123A456B789C*0#D";
+  private static final int[] ROW_FREQUENCIES = { 697, 770, 852, 941 };
+  private static final int[] COLUMN_FREQUENCIES = { 1209, 1336, 1477, 1633 };
+  private static final int TONE_MILLIS = 100;
+  private static final int GAP_MILLIS = 60;
+  private static final int FADE_MILLIS = 5;
+  private static final double AMPLITUDE = 0.2 * Short.MAX_VALUE;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "twilio-voice-dtmf");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final boolean enabled;
+  // accessed only from the thread of the executor
+  private final Set<UUID> connectedCalls = new HashSet<>();
+  private short[][] toneTables = null;
+  private short[] gapTable = null;
+  private int sampleRate = 0;
+  private AudioTrack track = null;
+
+  DtmfTonePlayer(@NonNull Context context) {
+    enabled = ConfigurationProperties.isDtmfFeedbackEnabled(context);
+    if (enabled) {
+      executor.execute(this::createTables);
+    }
+  }
+
+  /**
+   * Create the track, if no other call is connected, so that it is ready for the first digit.
+   * @param uuid the UUID of the connected call
+   */
+  void onCallConnected(@NonNull final UUID uuid) {
+    if (enabled && !executor.isShutdown()) {
+      executor.execute(() -> {
+        connectedCalls.add(uuid);
+        if (null == track) {
+          track = createTrack();
+        }
+      });
+    }
+  }
+
+  /**
+   * Release the track once no call is connected.
+   * @param uuid the UUID of the call that ended
+   */
+  void onCallEnded(@NonNull final UUID uuid) {
+    if (enabled && !executor.isShutdown()) {
+      executor.execute(() -> {
+        if (connectedCalls.remove(uuid) && connectedCalls.isEmpty()) {
+          releaseTrack();
+        }
+      });
+    }
+  }
+
+  /**
+   * Play the tones of digits, returns without waiting for them. Characters that are not DTMF
+   * keys are skipped, as are the digits of calls that are not connected.
+   * @param uuid the UUID of the call
+   * @param digits the digits sent by the call
+   */
+  void play(@NonNull final UUID uuid, @NonNull final String digits) {
+    if (enabled && !executor.isShutdown()) {
+      executor.execute(() -> {
+        if (connectedCalls.contains(uuid)) {
+          writeDigits(digits);
+        }
+      });
+    }
+  }
+
+  /**
+   * Release the track and stop the thread of the player.
+   */
+  void release() {
+    if (!executor.isShutdown()) {
+      executor.execute(() -> {
+        connectedCalls.clear();
+        releaseTrack();
+      });
+      executor.shutdown();
+    }
+  }
+
+  private void writeDigits(@NonNull final String digits) {
+    if (null == track) {
+      track = createTrack();
+      if (null == track) {
+        return;
+      }
+    }
+    for (int i = 0; i < digits.length(); ++i) {
+      final int key = getKeyIndex(digits.charAt(i));
+      if (key >= 0) {
+        track.write(toneTables[key], 0, toneTables[key].length);
+        track.write(gapTable, 0, gapTable.length);
+      }
+    }
+  }
+
+  private void createTables() {
+    if (null == toneTables) {
+      sampleRate = AudioTrack.getNativeOutputSampleRate(AudioManager.STREAM_VOICE_CALL);
+      toneTables = createToneTables(sampleRate);
+      gapTable = new short[sampleRate * GAP_MILLIS / 1000];
+    }
+  }
+
+  private AudioTrack createTrack() {
+    createTables();
+    final AudioTrack.Builder builder = new AudioTrack.Builder()
+      .setAudioAttributes(
+        new AudioAttributes.Builder()
+          .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+          .setUsage(AudioAttributes.USAGE_VOICE_COMMUNICATION_SIGNALLING)
+          .build())
+      .setAudioFormat(
+        new AudioFormat.Builder()
+          .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+          .setSampleRate(sampleRate)
+          .setChannelMask(AudioFormat.CHANNEL_OUT_MONO)
+          .build())
+      .setTransferMode(AudioTrack.MODE_STREAM)
+      .setBufferSizeInBytes(AudioTrack.getMinBufferSize(
+        sampleRate, AudioFormat.CHANNEL_OUT_MONO, AudioFormat.ENCODING_PCM_16BIT));
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+      builder.setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY);
+    }
+    final AudioTrack audioTrack = builder.build();
+    if (AudioTrack.STATE_INITIALIZED != audioTrack.getState()) {
+      audioTrack.release();
+      return null;
+    }
+    audioTrack.play();
+    return audioTrack;
+  }
+
+  private void releaseTrack() {
+    if (null != track) {
+      track.stop();
+      track.release();
+      track = null;
+    }
+  }
+
+  /**
+   * @return the dual tone of each key, faded in and out to avoid clicks
+   */
+  @NonNull
+  static short[][] createToneTables(int sampleRate) {
+    final int length = sampleRate * TONE_MILLIS / 1000;
+    final int fadeLength = sampleRate * FADE_MILLIS / 1000;
+    final short[][] tables = new short[KEYS.length()][];
+    for (int key = 0; key < KEYS.length(); ++key) {
+      final double rowStep = 2 * Math.PI * ROW_FREQUENCIES[key / 4] / sampleRate;
+      final double columnStep = 2 * Math.PI * COLUMN_FREQUENCIES[key % 4] / sampleRate;
+      tables[key] = new short[length];
+      for (int i = 0; i < length; ++i) {
+        final double envelope = Math.min(1.0, Math.min(i, length - 1 - i) / (double) fadeLength);
+        tables[key][i] = (short) Math.round(
+          AMPLITUDE * envelope * (Math.sin(rowStep * i) + Math.sin(columnStep * i)));
+      }
+    }
+    return tables;
+  }
+
+  /**
+   * @return the index of a key in the tables, -1 if it is not a DTMF key
+   */
+  static int getKeyIndex(char key) {
+    return KEYS.indexOf(Character.toUpperCase(key));
+  }
+}
@@ -0,0 +1,53 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getAudioSessionManager;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getCallRecordDatabase;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Releases a lazily acquired resource once it has gone unused for a while with no call records
+ * alive and no call holding the audio session. While either remains the release is deferred by
+ * another idle period, so that a session left held is never activated on a restarted resource.
+ */
+class IdleReleaseTimer {
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable checkRunnable = this::check;
+  private final long idleMillis;
+  private final Runnable release;
+
+  /**
+   * @param idleMillis the idle period, 0 to never release
+   * @param release releases the resource, invoked on the main thread
+   */
+  IdleReleaseTimer(long idleMillis, @NonNull Runnable release) {
+    this.idleMillis = idleMillis;
+    this.release = release;
+  }
+
+  /**
+   * Restart the idle period, may be invoked from any thread.
+   */
+  void touch() {
+    if (idleMillis > 0) {
+      handler.removeCallbacks(checkRunnable);
+      handler.postDelayed(checkRunnable, idleMillis);
+    }
+  }
+
+  void cancel() {
+    handler.removeCallbacks(checkRunnable);
+  }
+
+  private void check() {
+    if (getCallRecordDatabase().getCollection().isEmpty()
+      && (0 == getAudioSessionManager().getHolderCount())) {
+      release.run();
+    } else {
+      handler.postDelayed(checkRunnable, idleMillis);
+    }
+  }
+}
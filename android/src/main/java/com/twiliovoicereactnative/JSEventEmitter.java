@@ -1,5 +1,18 @@
 package com.twiliovoicereactnative;
 
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyBytes;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyDropped;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyEmitted;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyFields;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyMax;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyMean;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyPayloadMeasured;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeySerialization;
+import static com.twiliovoicereactnative.CommonConstants.VoiceEventType;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getMetricsSinkDispatcher;
+
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Pair;
 
 import androidx.annotation.NonNull;
@@ -9,32 +22,249 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
 import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 class JSEventEmitter {
   private static final SDKLog logger = new SDKLog(JSEventEmitter.class);
+  private static final String UNKNOWN_EVENT_TYPE = "unknown";
   private WeakReference<ReactApplicationContext> context = new WeakReference<>(null);
+  private final Map<String, Map<String, EventCounters>> traffic = new ConcurrentHashMap<>();
+  private final Handler summaryHandler = new Handler(Looper.getMainLooper());
+  private final Runnable summaryRunnable = this::logTrafficSummary;
+  private volatile long summaryIntervalMillis = 0;
+
+  /**
+   * Bridge traffic of a single event type in a single scope.
+   */
+  private static class EventCounters {
+    final AtomicLong emitted = new AtomicLong(0);
+    final AtomicLong dropped = new AtomicLong(0);
+    /**
+     * The number of emitted events whose payload was measured.
+     */
+    final AtomicLong measured = new AtomicLong(0);
+    final AtomicLong fields = new AtomicLong(0);
+    final AtomicLong bytes = new AtomicLong(0);
+    final AtomicLong serializationMicros = new AtomicLong(0);
+    final AtomicLong maxSerializationMicros = new AtomicLong(0);
+
+    void recordEmitted(long fieldCount, long byteCount, long micros) {
+      emitted.incrementAndGet();
+      fields.addAndGet(fieldCount);
+      bytes.addAndGet(byteCount);
+      serializationMicros.addAndGet(micros);
+      long currentMax;
+      do {
+        currentMax = maxSerializationMicros.get();
+      } while (micros > currentMax && !maxSerializationMicros.compareAndSet(currentMax, micros));
+    }
+  }
 
   public void setContext(ReactApplicationContext context) {
     this.context = new WeakReference<>(context);
   }
-  public void sendEvent(String eventName, @Nullable WritableMap params) {
-    logger.debug("sendEvent " + eventName + " params " + params);
-    if ((null != context.get()) &&
-        context.get().hasActiveReactInstance()) {
-      context.get()
+  public boolean sendEvent(String eventName, @Nullable WritableMap params) {
+    return sendEvent(eventName, () -> params);
+  }
+
+  /**
+   * Build and send an event. The time from building the event to handing it to the bridge is
+   * accounted for per scope and event type, along with the size of the event while a traffic
+   * summary interval is set.
+   * @param eventName the scope of the event
+   * @param eventBuilder builds the event payload
+   * @return true if the event was handed to the bridge, false if it was dropped because the JS
+   * layer was not active
+   */
+  public boolean sendEvent(String eventName, @NonNull Supplier<WritableMap> eventBuilder) {
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("JSEventEmitter.sendEvent")) {
+      return sendEventInternal(eventName, eventBuilder);
+    }
+  }
+
+  private boolean sendEventInternal(String eventName, @NonNull Supplier<WritableMap> eventBuilder) {
+    final long buildStartTimestamp = System.nanoTime();
+    final WritableMap params = eventBuilder.get();
+    final long buildEndTimestamp = System.nanoTime();
+    final ReactApplicationContext reactContext = context.get();
+    final EventCounters counters = getEventCounters(eventName, params);
+    logger.debug("sendEvent %s params %s", eventName, params);
+    if ((null != reactContext) && reactContext.hasActiveReactInstance()) {
+      // measure the payload before emitting it, the bridge consumes it. Walking the payload costs
+      // as much as building it, so it is only done while summaries are logged
+      final long[] size = new long[2];
+      if ((null != params) && (summaryIntervalMillis > 0)) {
+        measurePayload(params, size);
+        counters.measured.incrementAndGet();
+      }
+      final long emitStartTimestamp = System.nanoTime();
+      reactContext
         .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
         .emit(eventName, params);
+      final long emitEndTimestamp = System.nanoTime();
+      final long serializationNanos =
+        (buildEndTimestamp - buildStartTimestamp) + (emitEndTimestamp - emitStartTimestamp);
+      counters.recordEmitted(size[0], size[1], serializationNanos / 1000L);
+      getMetricsSinkDispatcher().counter(VoiceMetricsSink.EVENTS_EMITTED, eventName, 1);
+      return true;
     } else {
+      counters.dropped.incrementAndGet();
+      getMetricsSinkDispatcher().counter(VoiceMetricsSink.EVENTS_DROPPED, eventName, 1);
       logger.warning(
-        String.format(
-          "attempt to sendEvent without context {%s} or Catalyst instance not active",
-          context.get()));
+        "attempt to sendEvent without context {%s} or Catalyst instance not active",
+        reactContext);
+      return false;
+    }
+  }
+
+  /**
+   * @return the bridge traffic accounted so far, keyed by scope then event type. The fields and
+   * bytes are omitted, and payloadMeasured is false, if no payload of the type was measured
+   */
+  @NonNull
+  public WritableMap getTrafficSnapshot() {
+    WritableMap snapshot = Arguments.createMap();
+    for (Map.Entry<String, Map<String, EventCounters>> scope: traffic.entrySet()) {
+      WritableMap scopeSnapshot = Arguments.createMap();
+      for (Map.Entry<String, EventCounters> type: scope.getValue().entrySet()) {
+        final EventCounters counters = type.getValue();
+        final long emitted = counters.emitted.get();
+        final boolean payloadMeasured = counters.measured.get() > 0;
+        // null values are left out of the map
+        scopeSnapshot.putMap(type.getKey(), constructJSMap(
+          new Pair<>(MetricsKeyEmitted, emitted),
+          new Pair<>(MetricsKeyDropped, counters.dropped.get()),
+          new Pair<>(MetricsKeyPayloadMeasured, payloadMeasured),
+          new Pair<>(MetricsKeyFields, payloadMeasured ? counters.fields.get() : null),
+          new Pair<>(MetricsKeyBytes, payloadMeasured ? counters.bytes.get() : null),
+          new Pair<>(MetricsKeySerialization, constructJSMap(
+            new Pair<>(MetricsKeyMean, (emitted > 0)
+              ? (counters.serializationMicros.get() / (double)emitted) / 1000.0
+              : 0.0),
+            new Pair<>(MetricsKeyMax, counters.maxSerializationMicros.get() / 1000.0)))));
+      }
+      snapshot.putMap(scope.getKey(), scopeSnapshot);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Discard the bridge traffic accounted so far.
+   */
+  public void resetTraffic() {
+    traffic.clear();
+  }
+
+  /**
+   * Periodically log a summary of the bridge traffic. The size of the events is only measured
+   * while summaries are logged.
+   * @param intervalMillis the summary interval, 0 to stop logging summaries
+   */
+  public void setTrafficSummaryInterval(long intervalMillis) {
+    summaryIntervalMillis = Math.max(0, intervalMillis);
+    summaryHandler.removeCallbacks(summaryRunnable);
+    if (summaryIntervalMillis > 0) {
+      summaryHandler.postDelayed(summaryRunnable, summaryIntervalMillis);
+    }
+  }
+
+  private void logTrafficSummary() {
+    for (Map.Entry<String, Map<String, EventCounters>> scope: traffic.entrySet()) {
+      for (Map.Entry<String, EventCounters> type: scope.getValue().entrySet()) {
+        final EventCounters counters = type.getValue();
+        logger.log(
+          "bridge traffic %s/%s: emitted %d dropped %d fields %d bytes %d serialization %d us",
+          scope.getKey(),
+          type.getKey(),
+          counters.emitted.get(),
+          counters.dropped.get(),
+          counters.fields.get(),
+          counters.bytes.get(),
+          counters.serializationMicros.get());
+      }
+    }
+    final long intervalMillis = summaryIntervalMillis;
+    if (intervalMillis > 0) {
+      summaryHandler.postDelayed(summaryRunnable, intervalMillis);
+    }
+  }
+
+  @NonNull
+  private EventCounters getEventCounters(@NonNull String scope, @Nullable ReadableMap params) {
+    final String type = ((null != params) && params.hasKey(VoiceEventType)
+      && (ReadableType.String == params.getType(VoiceEventType)))
+      ? params.getString(VoiceEventType)
+      : UNKNOWN_EVENT_TYPE;
+    Map<String, EventCounters> scopeTraffic = traffic.get(scope);
+    if (null == scopeTraffic) {
+      scopeTraffic = traffic.computeIfAbsent(scope, key -> new ConcurrentHashMap<>());
+    }
+    EventCounters counters = scopeTraffic.get(type);
+    if (null == counters) {
+      counters = scopeTraffic.computeIfAbsent(type, key -> new EventCounters());
+    }
+    return counters;
+  }
+
+  /**
+   * Approximate the size of a payload as if it was serialized to JSON.
+   * @param map the payload
+   * @param size accumulates the number of fields at index 0 and of bytes at index 1
+   */
+  private static void measurePayload(@NonNull ReadableMap map, @NonNull long[] size) {
+    ReadableMapKeySetIterator iterator = map.keySetIterator();
+    while (iterator.hasNextKey()) {
+      final String key = iterator.nextKey();
+      size[0] += 1;
+      size[1] += key.length() + 4; // quotes, colon and separator
+      switch (map.getType(key)) {
+        case String:
+          size[1] += map.getString(key).length() + 2;
+          break;
+        case Map:
+          measurePayload(map.getMap(key), size);
+          break;
+        case Array:
+          measurePayload(map.getArray(key), size);
+          break;
+        default:
+          size[1] += 8;
+          break;
+      }
+    }
+    size[1] += 2; // braces
+  }
+
+  private static void measurePayload(@NonNull ReadableArray array, @NonNull long[] size) {
+    for (int i = 0; i < array.size(); ++i) {
+      size[0] += 1;
+      size[1] += 1; // separator
+      switch (array.getType(i)) {
+        case String:
+          size[1] += array.getString(i).length() + 2;
+          break;
+        case Map:
+          measurePayload(array.getMap(i), size);
+          break;
+        case Array:
+          measurePayload(array.getArray(i), size);
+          break;
+        default:
+          size[1] += 8;
+          break;
+      }
     }
+    size[1] += 2; // brackets
   }
 
   public static WritableArray constructJSArray(@NonNull Object...entries) {
@@ -59,7 +289,7 @@ class JSEventEmitter {
       } else if (entry == null) {
         logger.debug("constructJSArray: filtering null value");
       } else {
-        logger.debug(String.format("constructJSArray: unexpected type %s", entry.getClass()));
+        logger.debug("constructJSArray: unexpected type %s", entry.getClass());
       }
     }
     return params;
@@ -87,10 +317,7 @@ class JSEventEmitter {
       } else if (entry.second == null) {
         logger.debug("constructJSMap: filtering null value");
       } else {
-        logger.debug(String.format(
-          "constructJSMap: unexpected type %s",
-          entry.second.getClass()
-        ));
+        logger.debug("constructJSMap: unexpected type %s", entry.second.getClass());
       }
     }
     return params;
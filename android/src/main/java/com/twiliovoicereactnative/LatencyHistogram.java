@@ -0,0 +1,138 @@
+package com.twiliovoicereactnative;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear latency histogram. Every power of two range of values is split into
+ * {@link #SUB_BUCKET_COUNT} linear sub-buckets, which bounds the relative error of the reported
+ * percentiles to about 6% while keeping the whole histogram in a single primitive array.
+ * Recording is lock-free and does not allocate, so it can be done from any thread.
+ * <p>
+ * Values are recorded in microseconds and reported in milliseconds.
+ */
+class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40; // ~12.7 days in microseconds
+  private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong count = new AtomicLong(0);
+  private final AtomicLong sum = new AtomicLong(0);
+  private final AtomicLong max = new AtomicLong(0);
+
+  /**
+   * An immutable copy of the histogram at a point in time.
+   */
+  static class Snapshot {
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(long[] buckets, long count, long sum, long max) {
+      this.buckets = buckets;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    long getCount() {
+      return count;
+    }
+
+    double getMeanMillis() {
+      return (count > 0) ? (sum / (double)count) / 1000.0 : 0.0;
+    }
+
+    double getMaxMillis() {
+      return max / 1000.0;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the approximate value at the given percentile, 0 if nothing was recorded
+     */
+    double getPercentileMillis(final double percentile) {
+      long total = 0;
+      for (long bucket: buckets) {
+        total += bucket;
+      }
+      if (0 == total) {
+        return 0.0;
+      }
+      final long rank = Math.max(1, (long)Math.ceil(percentile / 100.0 * total));
+      long cumulative = 0;
+      for (int i = 0; i < buckets.length; ++i) {
+        cumulative += buckets[i];
+        if (cumulative >= rank) {
+          return Math.min(bucketMidpoint(i), max) / 1000.0;
+        }
+      }
+      return max / 1000.0;
+    }
+  }
+
+  /**
+   * Record a latency.
+   * @param micros the latency in microseconds, negative values are ignored
+   */
+  void record(final long micros) {
+    if (micros < 0) {
+      return;
+    }
+    buckets.incrementAndGet(bucketIndex(micros));
+    count.incrementAndGet();
+    sum.addAndGet(micros);
+    long currentMax;
+    do {
+      currentMax = max.get();
+    } while (micros > currentMax && !max.compareAndSet(currentMax, micros));
+  }
+
+  /**
+   * Record the latency between two {@link System#nanoTime()} timestamps.
+   */
+  void recordNanos(final long startNanos, final long endNanos) {
+    record((endNanos - startNanos) / 1000L);
+  }
+
+  @NonNull
+  Snapshot snapshot() {
+    long[] copy = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      copy[i] = buckets.get(i);
+    }
+    return new Snapshot(copy, count.get(), sum.get(), max.get());
+  }
+
+  void reset() {
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      buckets.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  private static int bucketIndex(final long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int)value;
+    }
+    final int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+    final int subBucket = (int)((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  private static long bucketMidpoint(final int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final int shift = index / SUB_BUCKET_COUNT - 1;
+    final long lowerBound = ((long)(SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT)) << shift;
+    return lowerBound + ((1L << shift) >> 1);
+  }
+}
@@ -0,0 +1,171 @@
+package com.twiliovoicereactnative;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, multi-producer, single-consumer ring of preallocated log slots. Producers claim
+ * slots with a CAS on the head sequence and copy the message characters into the claimed slots
+ * without locking or allocating, a single background drainer thread then writes the entries to
+ * logcat. Messages longer than a slot span consecutive slots, up to {@link #MAX_SLOTS_PER_ENTRY}.
+ * When the ring is full, entries are dropped and counted instead of blocking the producer.
+ */
+class LogRingBuffer {
+  private static final int SLOT_COUNT = 256;
+  private static final int SLOT_MASK = SLOT_COUNT - 1;
+  private static final int SLOT_CAPACITY = 256;
+  private static final int MAX_SLOTS_PER_ENTRY = 16;
+  private static final long DRAINER_IDLE_NANOS = 50_000_000L;
+
+  private final char[][] slotChars = new char[SLOT_COUNT][SLOT_CAPACITY];
+  private final int[] slotLength = new int[SLOT_COUNT];
+  // the following are only meaningful in the first slot of an entry
+  private final int[] entrySlots = new int[SLOT_COUNT];
+  private final int[] entryLevel = new int[SLOT_COUNT];
+  private final String[] entryTag = new String[SLOT_COUNT];
+  private final Throwable[] entryThrowable = new Throwable[SLOT_COUNT];
+  private final long[] entryTimestamp = new long[SLOT_COUNT];
+  /**
+   * The first slot of an entry with sequence `s` is readable once its published value is `s + 1`.
+   */
+  private final AtomicLongArray published = new AtomicLongArray(SLOT_COUNT);
+  private final AtomicLong head = new AtomicLong(0);
+  private final AtomicLong tail = new AtomicLong(0);
+  private final AtomicLong dropped = new AtomicLong(0);
+  private final StringBuilder drainBuffer = new StringBuilder(SLOT_CAPACITY);
+  private volatile DiagnosticLogRing diagnosticLogRing = null;
+  private volatile Thread drainer = null;
+  private volatile boolean drainerIdle = false;
+
+  /**
+   * Enqueue a log entry. Never blocks and never allocates; drops the entry if the ring is full.
+   * @param level the logcat priority of the entry
+   * @param tag the logcat tag of the entry
+   * @param message the message
+   * @param throwable an optional throwable whose stack trace is appended by the drainer
+   */
+  void enqueue(final int level,
+               @NonNull final String tag,
+               @Nullable final String message,
+               @Nullable final Throwable throwable) {
+    final String text = (null != message) ? message : "null";
+    final int length = Math.min(text.length(), MAX_SLOTS_PER_ENTRY * SLOT_CAPACITY);
+    final int slots = Math.max(1, (length + SLOT_CAPACITY - 1) / SLOT_CAPACITY);
+
+    // claim slots
+    long sequence;
+    do {
+      sequence = head.get();
+      if (sequence + slots - tail.get() > SLOT_COUNT) {
+        dropped.incrementAndGet();
+        return;
+      }
+    } while (!head.compareAndSet(sequence, sequence + slots));
+
+    // fill & publish slots, the header is published last so the drainer sees a whole entry
+    final int first = (int)(sequence & SLOT_MASK);
+    entrySlots[first] = slots;
+    entryLevel[first] = level;
+    entryTag[first] = tag;
+    entryThrowable[first] = throwable;
+    entryTimestamp[first] = System.currentTimeMillis();
+    for (int i = 0; i < slots; ++i) {
+      final int slot = (int)((sequence + i) & SLOT_MASK);
+      final int begin = i * SLOT_CAPACITY;
+      final int end = Math.min(length, begin + SLOT_CAPACITY);
+      text.getChars(begin, end, slotChars[slot], 0);
+      slotLength[slot] = end - begin;
+    }
+    published.set(first, sequence + 1);
+
+    // wake the drainer if it is idle
+    final Thread drainerThread = drainer;
+    if (drainerIdle && (null != drainerThread)) {
+      LockSupport.unpark(drainerThread);
+    }
+  }
+
+  /**
+   * @return the number of entries dropped because the ring was full
+   */
+  long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Set the ring that keeps a history of the drained entries.
+   * @param diagnosticLogRing the diagnostic ring, or null to not keep a history
+   */
+  void setDiagnosticLogRing(@Nullable final DiagnosticLogRing diagnosticLogRing) {
+    this.diagnosticLogRing = diagnosticLogRing;
+  }
+
+  /**
+   * Start the background drainer thread, if not already started.
+   */
+  synchronized void start() {
+    if (null == drainer) {
+      Thread drainerThread = new Thread(this::drainLoop, "SDKLog-drainer");
+      drainerThread.setDaemon(true);
+      drainerThread.setPriority(Thread.MIN_PRIORITY);
+      drainer = drainerThread;
+      drainerThread.start();
+    }
+  }
+
+  /**
+   * Write all published entries to logcat. Only to be invoked from the drainer thread, or when
+   * the drainer is not running.
+   * @return the number of entries drained
+   */
+  int drain() {
+    int count = 0;
+    long sequence = tail.get();
+    while (true) {
+      final int first = (int)(sequence & SLOT_MASK);
+      if (published.get(first) != sequence + 1) {
+        break;
+      }
+      final int slots = entrySlots[first];
+      drainBuffer.setLength(0);
+      for (int i = 0; i < slots; ++i) {
+        final int slot = (int)((sequence + i) & SLOT_MASK);
+        drainBuffer.append(slotChars[slot], 0, slotLength[slot]);
+      }
+      final Throwable throwable = entryThrowable[first];
+      entryThrowable[first] = null;
+      if (null != throwable) {
+        drainBuffer.append('\n').append(Log.getStackTraceString(throwable));
+      }
+      final DiagnosticLogRing diagnostics = diagnosticLogRing;
+      if (null != diagnostics) {
+        diagnostics.append(entryTimestamp[first], entryLevel[first], entryTag[first], drainBuffer);
+      }
+      Log.println(entryLevel[first], entryTag[first], drainBuffer.toString());
+
+      sequence += slots;
+      tail.set(sequence);
+      ++count;
+    }
+    return count;
+  }
+
+  private void drainLoop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      if (0 == drain()) {
+        drainerIdle = true;
+        // re-check after announcing idleness to not miss a wake-up
+        if (0 == drain()) {
+          LockSupport.parkNanos(this, DRAINER_IDLE_NANOS);
+        }
+        drainerIdle = false;
+      }
+    }
+  }
+}
@@ -4,55 +4,468 @@ import android.content.Context;
 import android.media.AudioAttributes;
 import android.media.SoundPool;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
 
+/**
+ * Plays the sounds of calls from a {@link SoundPool}. Sounds are decoded asynchronously, in the
+ * order of {@link #LOAD_ORDER}, and the readiness of each is tracked: a sound played before it is
+ * decoded starts once it is ready, unless stopped in the meantime.
+ * <p>
+ * Streams are tracked per call and per sound, so that concurrent calls can play at the same time
+ * and each stops only its own streams. The number of streams is capped by configuration; when
+ * the cap is reached, the oldest one-shot stream, or else the oldest looping stream, is stopped
+ * to make room.
+ * <p>
+ * When the tone engine is enabled, the incoming, ringback and disconnect sounds play through the
+ * low-latency {@link ToneEngine} instead of SoundPool.
+ * <p>
+ * Sounds can be replaced by files or URIs, see {@link #setSounds}. Custom sounds are decoded and
+ * written to their track off the calling thread, without holding the lock of the manager, through
+ * a {@link SoundSampleCache}, and play through the tone engine once decoded; the built-in sound
+ * plays until then.
+ * <p>
+ * When lazy audio is enabled, the sounds are only loaded on first use and the pool is released
+ * again after the configured idle period with no calls.
+ */
 class MediaPlayerManager {
+  private static final SDKLog logger = new SDKLog(MediaPlayerManager.class);
   public enum SoundTable {
     INCOMING,
     OUTGOING,
     DISCONNECT,
     RINGTONE
   }
-  private final SoundPool soundPool;
-  private final Map<SoundTable, Integer> soundMap;
-  private int activeStream;
+  /**
+   * The incoming sound is needed first when the application is started by a call invite, and
+   * SoundPool decodes in the order the sounds are loaded.
+   */
+  private static final SoundTable[] LOAD_ORDER = {
+    SoundTable.INCOMING,
+    SoundTable.RINGTONE,
+    SoundTable.DISCONNECT,
+    SoundTable.OUTGOING
+  };
+  private static final Map<SoundTable, Integer> SOUND_RESOURCES = new EnumMap<>(Map.of(
+    SoundTable.INCOMING, R.raw.incoming,
+    SoundTable.OUTGOING, R.raw.outgoing,
+    SoundTable.DISCONNECT, R.raw.disconnect,
+    SoundTable.RINGTONE, R.raw.ringtone));
+  private static final Set<SoundTable> TONE_ENGINE_SOUNDS =
+    EnumSet.of(SoundTable.INCOMING, SoundTable.RINGTONE, SoundTable.DISCONNECT);
+  /**
+   * Custom sounds loop while ringing, so longer ones are truncated to bound their memory.
+   */
+  private static final int CUSTOM_SOUND_MAX_SECONDS = 30;
+
+  /**
+   * A stream started, or to be started once its sound is ready, for a call.
+   */
+  private static class SoundStream {
+    final UUID callUuid;
+    final SoundTable sound;
+    final int streamId;
+    final boolean tone;
+
+    SoundStream(@NonNull UUID callUuid, @NonNull SoundTable sound, int streamId, boolean tone) {
+      this.callUuid = callUuid;
+      this.sound = sound;
+      this.streamId = streamId;
+      this.tone = tone;
+    }
+
+    boolean isLooping() {
+      return isLooping(sound);
+    }
+
+    static boolean isLooping(@NonNull SoundTable sound) {
+      return SoundTable.DISCONNECT != sound;
+    }
+  }
+
+  private final Context context;
+  private final int maxStreams;
+  private final boolean toneEngineEnabled;
+  private final IdleReleaseTimer idleReleaseTimer;
+  private final SoundSampleCache sampleCache;
+  private SoundPool soundPool = null;
+  private ToneEngine toneEngine = null;
+  private final Map<SoundTable, Integer> soundMap = new EnumMap<>(SoundTable.class);
+  private final Map<Integer, SoundTable> sampleMap = new HashMap<>();
+  private final Set<SoundTable> readySounds = EnumSet.noneOf(SoundTable.class);
+  private final Set<SoundTable> readyTones = EnumSet.noneOf(SoundTable.class);
+  private final Map<SoundTable, String> customSources = new EnumMap<>(SoundTable.class);
+  private final Map<SoundTable, String> loadedSources = new EnumMap<>(SoundTable.class);
+  private final Deque<SoundStream> activeStreams = new ArrayDeque<>();
+  private final List<SoundStream> pendingStreams = new ArrayList<>();
 
   MediaPlayerManager(Context context) {
-    soundPool = (new SoundPool.Builder())
-      .setMaxStreams(2)
-      .setAudioAttributes(
-        new AudioAttributes.Builder()
-          .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
-          .setUsage(AudioAttributes.USAGE_VOICE_COMMUNICATION)
-          .build())
-      .build();
-    activeStream = 0;
-    soundMap = new HashMap<>();
-    soundMap.put(SoundTable.INCOMING, soundPool.load(context, R.raw.incoming, 1));
-    soundMap.put(SoundTable.OUTGOING, soundPool.load(context, R.raw.outgoing, 1));
-    soundMap.put(SoundTable.DISCONNECT, soundPool.load(context, R.raw.disconnect, 1));
-    soundMap.put(SoundTable.RINGTONE, soundPool.load(context, R.raw.ringtone, 1));
-  }
-
-  public void play(final SoundTable sound) {
-    activeStream = soundPool.play(
-      soundMap.get(sound),
-      1.f,
-      1.f,
-      1,
-      (SoundTable.DISCONNECT== sound) ? 0 : -1,
-      1.f);
-  }
-
-  public void stop() {
-    soundPool.stop(activeStream);
-    activeStream = 0;
+    this.context = context;
+    maxStreams = Math.max(1, ConfigurationProperties.getSoundMaxStreams(context));
+    toneEngineEnabled = ConfigurationProperties.isToneEngineEnabled(context);
+    sampleCache = new SoundSampleCache(
+      ConfigurationProperties.getSoundCacheSizeKb(context) * 1024L);
+    final boolean lazy = ConfigurationProperties.isLazyAudioEnabled(context);
+    idleReleaseTimer = new IdleReleaseTimer(
+      lazy ? ConfigurationProperties.getAudioIdleReleaseMs(context) : 0,
+      this::release);
+    if (!lazy) {
+      acquire();
+    }
+  }
+
+  /**
+   * Play a sound for a call, replacing the same sound if the call is already playing it. A sound
+   * that is not decoded yet starts once it is.
+   * @param callUuid the UUID of the call
+   * @param sound the sound to play
+   */
+  public synchronized void play(@NonNull final UUID callUuid, @NonNull final SoundTable sound) {
+    acquire();
+    stopMatching(stream -> stream.callUuid.equals(callUuid) && (stream.sound == sound));
+    if (isReadyInternal(sound)) {
+      startStream(callUuid, sound);
+    } else {
+      logger.debug("Deferring %s until it is loaded", sound);
+      pendingStreams.add(new SoundStream(callUuid, sound, 0, false));
+    }
+  }
+
+  /**
+   * Stop all sounds of a call.
+   * @param callUuid the UUID of the call
+   */
+  public synchronized void stop(@NonNull final UUID callUuid) {
+    stopMatching(stream -> stream.callUuid.equals(callUuid));
+  }
+
+  /**
+   * Replace sounds by files or URIs, or restore the built-in ones. Returns without waiting for
+   * the sounds to be decoded: each built-in sound keeps playing until its replacement is ready,
+   * which then takes over the looping streams already playing.
+   * @param sources the file path or URI of each sound to replace, null to restore the built-in
+   *                sound. Sounds not in the map are left unchanged.
+   */
+  public synchronized void setSounds(@NonNull final Map<SoundTable, String> sources) {
+    for (Map.Entry<SoundTable, String> entry: sources.entrySet()) {
+      final SoundTable sound = entry.getKey();
+      final String source = entry.getValue();
+      if (Objects.equals(source, customSources.get(sound))) {
+        continue;
+      }
+      if (null == source) {
+        customSources.remove(sound);
+        restoreBuiltInSound(sound);
+      } else {
+        customSources.put(sound, source);
+        loadCustomSound(sound, source);
+      }
+    }
+  }
+
+  /**
+   * Release the sound pool, it is loaded anew on next use. Custom sounds are kept, and decoded
+   * again from the cache on next use.
+   */
+  public synchronized void release() {
+    idleReleaseTimer.cancel();
+    if (null != soundPool) {
+      soundPool.release();
+      soundPool = null;
+      if (null != toneEngine) {
+        toneEngine.release();
+        toneEngine = null;
+      }
+      soundMap.clear();
+      sampleMap.clear();
+      readySounds.clear();
+      readyTones.clear();
+      loadedSources.clear();
+      activeStreams.clear();
+      pendingStreams.clear();
+    }
+  }
+
+  private void acquire() {
+    if (null == soundPool) {
+      soundPool = (new SoundPool.Builder())
+        .setMaxStreams(maxStreams)
+        .setAudioAttributes(
+          new AudioAttributes.Builder()
+            .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+            .setUsage(AudioAttributes.USAGE_VOICE_COMMUNICATION)
+            .build())
+        .build();
+      soundPool.setOnLoadCompleteListener(this::onLoadComplete);
+      if (toneEngineEnabled || !customSources.isEmpty()) {
+        toneEngine = new ToneEngine();
+      }
+      for (SoundTable sound: LOAD_ORDER) {
+        if (isBuiltInToneEngineSound(sound)) {
+          loadBuiltInTone(sound);
+        } else {
+          final int sampleId = soundPool.load(context, SOUND_RESOURCES.get(sound), 1);
+          soundMap.put(sound, sampleId);
+          sampleMap.put(sampleId, sound);
+        }
+      }
+      for (Map.Entry<SoundTable, String> entry: customSources.entrySet()) {
+        loadCustomSound(entry.getKey(), entry.getValue());
+      }
+    }
+    idleReleaseTimer.touch();
+  }
+
+  private void loadBuiltInTone(@NonNull final SoundTable sound) {
+    final ToneEngine engine = toneEngine;
+    final int resourceId = SOUND_RESOURCES.get(sound);
+    engine.decode(sound.name(), () -> {
+      try (InputStream inputStream = context.getResources().openRawResource(resourceId)) {
+        return PcmSample.decodeWav(inputStream);
+      }
+    }, tone -> onBuiltInToneDecoded(engine, sound, tone));
+  }
+
+  /**
+   * Decode a custom sound, or take it from the cache, unless the sounds are not loaded yet in
+   * which case it is decoded on next use.
+   */
+  private void loadCustomSound(@NonNull final SoundTable sound, @NonNull final String source) {
+    if (null == soundPool) {
+      return;
+    }
+    if (null == toneEngine) {
+      toneEngine = new ToneEngine();
+    }
+    final ToneEngine engine = toneEngine;
+    engine.decode(source,
+      () -> loadCustomSample(source),
+      tone -> onCustomToneDecoded(engine, sound, source, tone));
+  }
+
+  @NonNull
+  private PcmSample loadCustomSample(@NonNull final String source) throws IOException {
+    PcmSample sample = sampleCache.get(source);
+    if (null == sample) {
+      sample = PcmSample.decode(context, source, CUSTOM_SOUND_MAX_SECONDS);
+      sampleCache.put(source, sample);
+    }
+    return sample;
+  }
+
+  /**
+   * Go back to the built-in sound: through the tone engine if it plays the built-in sound,
+   * the custom sound playing until the built-in one is decoded again, else through SoundPool.
+   */
+  private void restoreBuiltInSound(@NonNull final SoundTable sound) {
+    if ((null == loadedSources.remove(sound)) || (null == toneEngine)) {
+      return;
+    }
+    if (isBuiltInToneEngineSound(sound)) {
+      loadBuiltInTone(sound);
+    } else {
+      restartStreams(sound);
+      toneEngine.removeSample(sound);
+      readyTones.remove(sound);
+    }
+  }
+
+  /**
+   * Move the streams of a sound that changed engine to the other one, looping streams are
+   * restarted and one-shot streams are stopped.
+   */
+  private void restartStreams(@NonNull final SoundTable sound) {
+    final boolean tone = isToneEngineSound(sound);
+    final List<SoundStream> restarted = new ArrayList<>();
+    for (Iterator<SoundStream> iterator = activeStreams.iterator(); iterator.hasNext(); ) {
+      final SoundStream stream = iterator.next();
+      if ((stream.sound == sound) && (stream.tone != tone)) {
+        iterator.remove();
+        stopStream(stream);
+        if (stream.isLooping()) {
+          restarted.add(stream);
+        }
+      }
+    }
+    for (SoundStream stream: restarted) {
+      if (isReadyInternal(sound)) {
+        startStream(stream.callUuid, sound);
+      } else {
+        pendingStreams.add(new SoundStream(stream.callUuid, sound, 0, false));
+      }
+    }
+  }
+
+  private void startStream(@NonNull final UUID callUuid, @NonNull final SoundTable sound) {
+    if (activeStreams.size() >= maxStreams) {
+      evictStream();
+    }
+    final boolean looping = SoundStream.isLooping(sound);
+    final boolean tone = isToneEngineSound(sound);
+    final int streamId;
+    if (tone) {
+      streamId = toneEngine.play(sound, looping);
+    } else {
+      streamId = soundPool.play(
+        soundMap.get(sound),
+        1.f,
+        1.f,
+        looping ? 1 : 0,
+        looping ? -1 : 0,
+        1.f);
+    }
+    if (0 != streamId) {
+      activeStreams.addLast(new SoundStream(callUuid, sound, streamId, tone));
+    } else {
+      logger.warning("Failed to play %s", sound);
+    }
+  }
+
+  /**
+   * Make room for a stream, preferring one-shot streams since they have likely ended already.
+   */
+  private void evictStream() {
+    SoundStream evicted = null;
+    for (SoundStream stream: activeStreams) {
+      if (!stream.isLooping()) {
+        evicted = stream;
+        break;
+      }
+    }
+    if (null == evicted) {
+      evicted = activeStreams.peekFirst();
+      logger.warning("Stream cap of %d reached, stopping %s of call %s",
+        maxStreams, evicted.sound, evicted.callUuid);
+    }
+    activeStreams.remove(evicted);
+    stopStream(evicted);
+  }
+
+  private void stopStream(@NonNull final SoundStream stream) {
+    if (stream.tone) {
+      toneEngine.stop(stream.streamId);
+    } else {
+      soundPool.stop(stream.streamId);
+    }
+  }
+
+  private boolean isToneEngineSound(@NonNull final SoundTable sound) {
+    return loadedSources.containsKey(sound) || isBuiltInToneEngineSound(sound);
+  }
+
+  private boolean isBuiltInToneEngineSound(@NonNull final SoundTable sound) {
+    return (null != toneEngine) && toneEngineEnabled && TONE_ENGINE_SOUNDS.contains(sound);
+  }
+
+  private boolean isReadyInternal(@NonNull final SoundTable sound) {
+    return isToneEngineSound(sound) ? readyTones.contains(sound) : readySounds.contains(sound);
+  }
+
+  private void stopMatching(@NonNull final Predicate<SoundStream> predicate) {
+    pendingStreams.removeIf(predicate);
+    if (null == soundPool) {
+      return;
+    }
+    for (Iterator<SoundStream> iterator = activeStreams.iterator(); iterator.hasNext(); ) {
+      final SoundStream stream = iterator.next();
+      if (predicate.test(stream)) {
+        stopStream(stream);
+        iterator.remove();
+      }
+    }
+    idleReleaseTimer.touch();
+  }
+
+  private synchronized void onLoadComplete(SoundPool pool, int sampleId, int status) {
+    final SoundTable sound = sampleMap.get(sampleId);
+    if ((pool != soundPool) || (null == sound)) {
+      return;
+    }
+    if (0 == status) {
+      readySounds.add(sound);
+    }
+    onSoundLoaded(sound, 0 == status);
+  }
+
+  private synchronized void onBuiltInToneDecoded(ToneEngine engine,
+                                                 SoundTable sound,
+                                                 @Nullable ToneEngine.Tone tone) {
+    if ((engine != toneEngine) || loadedSources.containsKey(sound)) {
+      releaseTone(tone);
+      return;
+    }
+    final boolean success = (null != tone) && engine.setTone(sound, tone);
+    if (success) {
+      readyTones.add(sound);
+    }
+    onSoundLoaded(sound, success);
+  }
+
+  private synchronized void onCustomToneDecoded(ToneEngine engine,
+                                                SoundTable sound,
+                                                String source,
+                                                @Nullable ToneEngine.Tone tone) {
+    if ((engine != toneEngine) || !source.equals(customSources.get(sound))) {
+      releaseTone(tone);
+      return;
+    }
+    if ((null == tone) || !engine.setTone(sound, tone)) {
+      logger.warning("Failed to load %s from %s, restoring the built-in sound", sound, source);
+      customSources.remove(sound);
+      restoreBuiltInSound(sound);
+      return;
+    }
+    loadedSources.put(sound, source);
+    readyTones.add(sound);
+    restartStreams(sound);
+    onSoundLoaded(sound, true);
+  }
+
+  private static void releaseTone(@Nullable ToneEngine.Tone tone) {
+    if (null != tone) {
+      tone.release();
+    }
+  }
+
+  private void onSoundLoaded(SoundTable sound, boolean success) {
+    if (!success) {
+      logger.warning("Failed to load %s", sound);
+      if (!isReadyInternal(sound)) {
+        pendingStreams.removeIf(stream -> stream.sound == sound);
+      }
+      return;
+    }
+    if (!isReadyInternal(sound)) {
+      return;
+    }
+    for (Iterator<SoundStream> iterator = pendingStreams.iterator(); iterator.hasNext(); ) {
+      final SoundStream stream = iterator.next();
+      if (stream.sound == sound) {
+        iterator.remove();
+        startStream(stream.callUuid, sound);
+      }
+    }
   }
 
   @Override
   protected void finalize() throws Throwable {
-    soundPool.release();
+    release();
     super.finalize();
   }
 }
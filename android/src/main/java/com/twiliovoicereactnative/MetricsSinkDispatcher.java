@@ -0,0 +1,128 @@
+package com.twiliovoicereactnative;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records metrics for the registered {@link VoiceMetricsSink} and delivers them in batches on a
+ * background thread. Recording is a single volatile read when no sink is registered; otherwise
+ * it enqueues the metric without locking and schedules a flush, dropping metrics when too many
+ * are pending.
+ */
+class MetricsSinkDispatcher {
+  private static final SDKLog logger = new SDKLog(MetricsSinkDispatcher.class);
+  private static final int MAX_PENDING_METRICS = 4096;
+  private static final long FLUSH_INTERVAL_MILLIS = 1000;
+  private final Queue<VoiceMetricsSink.Metric> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingCount = new AtomicInteger(0);
+  private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+  private final AtomicLong dropped = new AtomicLong(0);
+  private final Runnable flushRunnable = this::flush;
+  private volatile Handler handler = null;
+  private volatile VoiceMetricsSink sink = null;
+
+  /**
+   * Register a sink, replacing the previous one.
+   * @param sink the sink, or null to stop recording metrics
+   */
+  synchronized void setSink(@Nullable VoiceMetricsSink sink) {
+    if ((null != sink) && (null == handler)) {
+      HandlerThread thread =
+        new HandlerThread("VoiceMetricsSink", Process.THREAD_PRIORITY_BACKGROUND);
+      thread.start();
+      handler = new Handler(thread.getLooper());
+    }
+    this.sink = sink;
+    if (null == sink) {
+      drain();
+    }
+  }
+
+  boolean isEnabled() {
+    return null != sink;
+  }
+
+  void counter(@NonNull String name, @Nullable String tag, long increment) {
+    if (null != sink) {
+      record(VoiceMetricsSink.Type.COUNTER, name, tag, increment);
+    }
+  }
+
+  void gauge(@NonNull String name, @Nullable String tag, double value) {
+    if (null != sink) {
+      record(VoiceMetricsSink.Type.GAUGE, name, tag, value);
+    }
+  }
+
+  /**
+   * @param micros the duration in microseconds, delivered in milliseconds
+   */
+  void timer(@NonNull String name, @Nullable String tag, long micros) {
+    if (null != sink) {
+      record(VoiceMetricsSink.Type.TIMER, name, tag, micros / 1000.0);
+    }
+  }
+
+  /**
+   * @return the number of metrics dropped because too many were pending delivery
+   */
+  long getDroppedCount() {
+    return dropped.get();
+  }
+
+  private void record(@NonNull VoiceMetricsSink.Type type,
+                      @NonNull String name,
+                      @Nullable String tag,
+                      double value) {
+    if (pendingCount.incrementAndGet() > MAX_PENDING_METRICS) {
+      pendingCount.decrementAndGet();
+      dropped.incrementAndGet();
+      return;
+    }
+    pending.add(new VoiceMetricsSink.Metric(type, name, tag, value, System.currentTimeMillis()));
+    if (flushScheduled.compareAndSet(false, true)) {
+      handler.postDelayed(flushRunnable, FLUSH_INTERVAL_MILLIS);
+    }
+  }
+
+  private void flush() {
+    flushScheduled.set(false);
+    final List<VoiceMetricsSink.Metric> batch = drain();
+    final VoiceMetricsSink currentSink = sink;
+    if ((null != currentSink) && !batch.isEmpty()) {
+      try {
+        currentSink.onMetrics(Collections.unmodifiableList(batch));
+      } catch (RuntimeException e) {
+        logger.warning(e, "Metrics sink failed to process a batch");
+      }
+    }
+  }
+
+  /**
+   * Take the pending metrics, decrementing the count per metric taken so that it stays in step
+   * with the queue while producers keep recording.
+   */
+  @NonNull
+  private List<VoiceMetricsSink.Metric> drain() {
+    final List<VoiceMetricsSink.Metric> batch = new ArrayList<>(pendingCount.get());
+    VoiceMetricsSink.Metric metric;
+    while (null != (metric = pending.poll())) {
+      pendingCount.decrementAndGet();
+      batch.add(metric);
+    }
+    return batch;
+  }
+}
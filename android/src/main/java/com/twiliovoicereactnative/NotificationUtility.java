@@ -135,6 +135,15 @@ class NotificationUtility {
   public static Notification createIncomingCallNotification(@NonNull Context context,
                                                             @NonNull final CallRecord callRecord,
                                                             @NonNull final String channelImportance) {
+    try (VoiceTrace.Section ignored =
+           VoiceTrace.beginSection("NotificationUtility.createIncomingCallNotification")) {
+      return createIncomingCallNotificationInternal(context, callRecord, channelImportance);
+    }
+  }
+
+  private static Notification createIncomingCallNotificationInternal(@NonNull Context context,
+                                                                     @NonNull final CallRecord callRecord,
+                                                                     @NonNull final String channelImportance) {
     final NotificationResource notificationResource = new NotificationResource(
       context,
       NotificationResource.Type.INCOMING,
@@ -179,6 +188,14 @@ class NotificationUtility {
 
   public static Notification createCallAnsweredNotificationWithLowImportance(@NonNull Context context,
                                                                              @NonNull final CallRecord callRecord) {
+    try (VoiceTrace.Section ignored =
+           VoiceTrace.beginSection("NotificationUtility.createCallAnsweredNotificationWithLowImportance")) {
+      return createCallAnsweredNotificationWithLowImportanceInternal(context, callRecord);
+    }
+  }
+
+  private static Notification createCallAnsweredNotificationWithLowImportanceInternal(@NonNull Context context,
+                                                                                      @NonNull final CallRecord callRecord) {
     final NotificationResource notificationResource = new NotificationResource(
       context,
       NotificationResource.Type.ANSWERED,
@@ -216,6 +233,14 @@ class NotificationUtility {
 
   public static Notification createOutgoingCallNotificationWithLowImportance(@NonNull Context context,
                                                                              @NonNull final CallRecord callRecord) {
+    try (VoiceTrace.Section ignored =
+           VoiceTrace.beginSection("NotificationUtility.createOutgoingCallNotificationWithLowImportance")) {
+      return createOutgoingCallNotificationWithLowImportanceInternal(context, callRecord);
+    }
+  }
+
+  private static Notification createOutgoingCallNotificationWithLowImportanceInternal(@NonNull Context context,
+                                                                                      @NonNull final CallRecord callRecord) {
     final NotificationResource notificationResource = new NotificationResource(
       context,
       NotificationResource.Type.OUTGOING,
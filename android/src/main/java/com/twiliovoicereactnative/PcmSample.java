@@ -0,0 +1,299 @@
+package com.twiliovoicereactnative;
+
+import android.content.Context;
+import android.media.AudioFormat;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A sound decoded to 16-bit PCM in a direct buffer, ready to be written to an AudioTrack without
+ * further copies on the Java heap.
+ */
+class PcmSample {
+  private static final int WAVE_FORMAT_PCM = 1;
+  private static final long CODEC_TIMEOUT_US = 10_000;
+  private final ByteBuffer data;
+  private final int sampleRate;
+  private final int channelCount;
+
+  PcmSample(@NonNull ByteBuffer data, int sampleRate, int channelCount) {
+    this.data = data;
+    this.sampleRate = sampleRate;
+    this.channelCount = channelCount;
+  }
+
+  /**
+   * @return a read-only view of the samples, positioned at the first one
+   */
+  @NonNull
+  ByteBuffer getData() {
+    return data.asReadOnlyBuffer();
+  }
+
+  int getSampleRate() {
+    return sampleRate;
+  }
+
+  int getChannelCount() {
+    return channelCount;
+  }
+
+  int getByteSize() {
+    return data.capacity();
+  }
+
+  int getFrameCount() {
+    return data.capacity() / (2 * channelCount);
+  }
+
+  /**
+   * Resample by linear interpolation, which is enough for the tones and ringtones of calls.
+   * @param targetSampleRate the sample rate of the result, 0 to keep the sample
+   * @return a sample at the given rate, or this sample if it is at that rate already
+   */
+  @NonNull
+  PcmSample resample(int targetSampleRate) {
+    if ((targetSampleRate <= 0) || (targetSampleRate == sampleRate)) {
+      return this;
+    }
+    final int frameCount = getFrameCount();
+    final int targetFrameCount = (int) ((long) frameCount * targetSampleRate / sampleRate);
+    final ShortBuffer source = data.duplicate().order(data.order()).asShortBuffer();
+    final ByteBuffer resampled = ByteBuffer.allocateDirect(2 * channelCount * targetFrameCount)
+      .order(data.order());
+    final ShortBuffer target = resampled.asShortBuffer();
+    for (int frame = 0; frame < targetFrameCount; ++frame) {
+      final long position = (long) frame * sampleRate;
+      final int index = (int) (position / targetSampleRate);
+      final int next = Math.min(index + 1, frameCount - 1);
+      final double fraction = (position % targetSampleRate) / (double) targetSampleRate;
+      for (int channel = 0; channel < channelCount; ++channel) {
+        final int current = source.get(index * channelCount + channel);
+        target.put((short) Math.round(
+          current + (source.get(next * channelCount + channel) - current) * fraction));
+      }
+    }
+    return new PcmSample(resampled, targetSampleRate, channelCount);
+  }
+
+  /**
+   * Decode a RIFF/WAVE stream of 16-bit PCM, mono or stereo. Chunks other than the format and
+   * the samples are skipped.
+   * @param inputStream the stream, not closed
+   * @return the decoded sample
+   * @throws IOException if the stream cannot be read or is not 16-bit PCM
+   */
+  @NonNull
+  static PcmSample decodeWav(@NonNull InputStream inputStream) throws IOException {
+    final DataInputStream stream = new DataInputStream(inputStream);
+    if ((readTag(stream) != 0x46464952 /* RIFF */)) {
+      throw new IOException("Not a RIFF stream");
+    }
+    readLittleEndianInt(stream);
+    if (readTag(stream) != 0x45564157 /* WAVE */) {
+      throw new IOException("Not a WAVE stream");
+    }
+    int sampleRate = 0;
+    int channelCount = 0;
+    while (true) {
+      final int tag = readTag(stream);
+      final int size = readLittleEndianInt(stream);
+      if (tag == 0x20746d66 /* fmt */) {
+        final byte[] format = new byte[size];
+        stream.readFully(format);
+        final ByteBuffer formatBuffer = ByteBuffer.wrap(format).order(ByteOrder.LITTLE_ENDIAN);
+        final int audioFormat = formatBuffer.getShort(0) & 0xffff;
+        channelCount = formatBuffer.getShort(2) & 0xffff;
+        sampleRate = formatBuffer.getInt(4);
+        final int bitsPerSample = formatBuffer.getShort(14) & 0xffff;
+        if ((WAVE_FORMAT_PCM != audioFormat)
+          || (16 != bitsPerSample)
+          || (channelCount < 1)
+          || (channelCount > 2)) {
+          throw new IOException(String.format(
+            "Unsupported format %d, %d bits, %d channels", audioFormat, bitsPerSample, channelCount));
+        }
+      } else if (tag == 0x61746164 /* data */) {
+        if (0 == sampleRate) {
+          throw new IOException("Samples before format");
+        }
+        final ByteBuffer data = ByteBuffer.allocateDirect(size - (size % (2 * channelCount)))
+          .order(ByteOrder.nativeOrder());
+        final ReadableByteChannel channel = Channels.newChannel(stream);
+        while (data.hasRemaining()) {
+          if (channel.read(data) < 0) {
+            throw new EOFException();
+          }
+        }
+        data.flip();
+        return new PcmSample(data, sampleRate, channelCount);
+      } else {
+        // chunks are padded to an even size
+        skipFully(stream, size + (size & 1));
+      }
+    }
+  }
+
+  /**
+   * Decode the first audio track of a media file with the platform decoders, which support the
+   * formats of ringtones such as MP3, AAC, Ogg Vorbis and WAV. The samples are decoded straight
+   * into a direct buffer sized from the duration and format of the track. Blocks until decoded,
+   * so must not be called from the main thread.
+   * @param context the application context, to resolve content URIs
+   * @param source an absolute file path, or a URI of scheme file, content or android.resource
+   * @param maxSeconds the maximum duration to decode, longer sounds are truncated
+   * @return the decoded sample
+   * @throws IOException if the source cannot be read, has no audio track, or does not decode to
+   *                     16-bit PCM, mono or stereo
+   */
+  @NonNull
+  static PcmSample decode(@NonNull Context context, @NonNull String source, int maxSeconds)
+    throws IOException {
+    final MediaExtractor extractor = new MediaExtractor();
+    MediaCodec codec = null;
+    boolean started = false;
+    try {
+      if (source.startsWith("/")) {
+        extractor.setDataSource(source);
+      } else {
+        extractor.setDataSource(context, Uri.parse(source), null);
+      }
+      MediaFormat format = null;
+      for (int i = 0; (null == format) && (i < extractor.getTrackCount()); ++i) {
+        final String mime = extractor.getTrackFormat(i).getString(MediaFormat.KEY_MIME);
+        if ((null != mime) && mime.startsWith("audio/")) {
+          format = extractor.getTrackFormat(i);
+          extractor.selectTrack(i);
+        }
+      }
+      if (null == format) {
+        throw new IOException("No audio track in " + source);
+      }
+      codec = MediaCodec.createDecoderByType(format.getString(MediaFormat.KEY_MIME));
+      codec.configure(format, null, null, 0);
+      codec.start();
+      started = true;
+      int sampleRate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+      int channelCount = format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+      final long durationUs = format.containsKey(MediaFormat.KEY_DURATION)
+        ? Math.min(format.getLong(MediaFormat.KEY_DURATION), maxSeconds * 1_000_000L)
+        : maxSeconds * 1_000_000L;
+      final MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+      ByteBuffer data = null;
+      boolean inputDone = false;
+      boolean outputDone = false;
+      while (!outputDone) {
+        if (!inputDone) {
+          final int inputIndex = codec.dequeueInputBuffer(CODEC_TIMEOUT_US);
+          if (inputIndex >= 0) {
+            final int size = extractor.readSampleData(codec.getInputBuffer(inputIndex), 0);
+            if (size < 0) {
+              codec.queueInputBuffer(
+                inputIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+              inputDone = true;
+            } else {
+              codec.queueInputBuffer(inputIndex, 0, size, extractor.getSampleTime(), 0);
+              extractor.advance();
+            }
+          }
+        }
+        final int outputIndex = codec.dequeueOutputBuffer(info, CODEC_TIMEOUT_US);
+        if (MediaCodec.INFO_OUTPUT_FORMAT_CHANGED == outputIndex) {
+          final MediaFormat outputFormat = codec.getOutputFormat();
+          sampleRate = outputFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+          channelCount = outputFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+          if (outputFormat.containsKey(MediaFormat.KEY_PCM_ENCODING)
+            && (AudioFormat.ENCODING_PCM_16BIT
+              != outputFormat.getInteger(MediaFormat.KEY_PCM_ENCODING))) {
+            throw new IOException("Unsupported PCM encoding of " + source);
+          }
+        } else if (outputIndex >= 0) {
+          final ByteBuffer output = codec.getOutputBuffer(outputIndex);
+          final long maxBytes = 2L * channelCount * sampleRate * maxSeconds;
+          if (null == data) {
+            data = ByteBuffer.allocateDirect((int) Math.min(maxBytes,
+              2L * channelCount * ((durationUs * sampleRate + 999_999) / 1_000_000)));
+          }
+          final int size = (int) Math.max(0, Math.min(info.size, maxBytes - data.position()));
+          if (data.remaining() < size) {
+            // the duration of the container was short of the decoded samples
+            data = grow(data, (int) Math.min(maxBytes,
+              Math.max(data.position() + (long) size, data.capacity() * 5L / 4)));
+          }
+          output.position(info.offset);
+          output.limit(info.offset + size);
+          data.put(output);
+          codec.releaseOutputBuffer(outputIndex, false);
+          outputDone = (0 != (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM))
+            || (data.position() >= maxBytes);
+        }
+      }
+      if ((channelCount < 1) || (channelCount > 2)) {
+        throw new IOException(String.format(
+          "Unsupported %d channels of %s", channelCount, source));
+      }
+      final int length = (null != data)
+        ? data.position() - (data.position() % (2 * channelCount))
+        : 0;
+      if (0 == length) {
+        throw new IOException("No samples in " + source);
+      }
+      data.position(0).limit(length);
+      return new PcmSample(data.slice().order(ByteOrder.nativeOrder()), sampleRate, channelCount);
+    } finally {
+      if (null != codec) {
+        if (started) {
+          codec.stop();
+        }
+        codec.release();
+      }
+      extractor.release();
+    }
+  }
+
+  /**
+   * @return a direct buffer of the given capacity holding the samples of a buffer, positioned
+   * after them
+   */
+  @NonNull
+  private static ByteBuffer grow(@NonNull ByteBuffer data, int capacity) {
+    data.flip();
+    return ByteBuffer.allocateDirect(capacity).put(data);
+  }
+
+  private static int readTag(@NonNull DataInputStream stream) throws IOException {
+    return readLittleEndianInt(stream);
+  }
+
+  private static int readLittleEndianInt(@NonNull DataInputStream stream) throws IOException {
+    return Integer.reverseBytes(stream.readInt());
+  }
+
+  private static void skipFully(@NonNull DataInputStream stream, long count) throws IOException {
+    while (count > 0) {
+      final long skipped = stream.skip(count);
+      if (skipped <= 0) {
+        if (stream.read() < 0) {
+          throw new EOFException();
+        }
+        --count;
+      } else {
+        count -= skipped;
+      }
+    }
+  }
+}
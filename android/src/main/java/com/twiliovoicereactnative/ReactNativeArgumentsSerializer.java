@@ -1,8 +1,11 @@
 package com.twiliovoicereactnative;
 
+import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeyAdded;
 import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeyAudioDevices;
 import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeyName;
+import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeyRemoved;
 import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeySelectedDevice;
+import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeySelectedDeviceChanged;
 import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeyType;
 import static com.twiliovoicereactnative.CommonConstants.AudioDeviceKeyUuid;
 import static com.twiliovoicereactnative.CommonConstants.CallInfoFrom;
@@ -141,7 +144,7 @@ class ReactNativeArgumentsSerializer {
       case RINGING:
         return CallStateRinging;
       default:
-        logger.warning("Unknown call state: " + state);
+        logger.warning("Unknown call state: %s", state);
         return CallStateConnecting;
     }
   }
@@ -222,6 +225,26 @@ class ReactNativeArgumentsSerializer {
       new Pair<>(AudioDeviceKeyAudioDevices, serializeAudioDeviceMapIntoArray(audioDevices)),
       new Pair<>(AudioDeviceKeySelectedDevice, serializeAudioDevice(selectedAudioDeviceUuid, selectedAudioDevice)));
   }
+
+  /**
+   * Serializes a change of the audio devices: the devices added, the UUIDs of the devices removed
+   * and, if it changed, the selected device.
+   * @param change The change of the audio devices
+   * @return Serialized audio device change
+   */
+  public static WritableMap serializeAudioDeviceChange(AudioSwitchManager.AudioDeviceChange change) {
+    WritableArray removed = Arguments.createArray();
+    for (String uuid : change.removed) {
+      removed.pushString(uuid);
+    }
+    return constructJSMap(
+      new Pair<>(AudioDeviceKeyAdded, serializeAudioDeviceMapIntoArray(change.added)),
+      new Pair<>(AudioDeviceKeyRemoved, removed),
+      new Pair<>(AudioDeviceKeySelectedDeviceChanged, change.selectedDeviceChanged),
+      new Pair<>(AudioDeviceKeySelectedDevice, change.selectedDeviceChanged
+        ? serializeAudioDevice(change.selectedAudioDeviceUuid, change.selectedDevice)
+        : null));
+  }
   public static WritableMap serializeVoiceException(VoiceException exception) {
     if (null != exception) {
       return constructJSMap(
@@ -2,73 +2,219 @@ package com.twiliovoicereactnative;
 
 import android.util.Log;
 
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintStream;
-import java.nio.charset.Charset;
-import java.util.Vector;
+import androidx.annotation.NonNull;
 
-class SDKLog extends OutputStream {
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Module logger. Messages below the runtime log level are discarded before any formatting takes
+ * place, so call sites should prefer the parameterized and supplier based methods over building
+ * the message themselves. Loggers of high-frequency tags can additionally be sampled, in which
+ * case only one of every N messages below warning level is logged.
+ */
+class SDKLog {
+  private static final int DEFAULT_DIAGNOSTIC_LOG_SIZE_KB = 64;
+  private static final LogRingBuffer logRingBuffer = new LogRingBuffer();
+  private static final Map<String, SDKLog> loggers = new ConcurrentHashMap<>();
+  private static final Map<String, Integer> sampleRates = new ConcurrentHashMap<>();
+  private static volatile DiagnosticLogRing diagnosticLogRing =
+    new DiagnosticLogRing(DEFAULT_DIAGNOSTIC_LOG_SIZE_KB);
+  private static volatile int logLevel = BuildConfig.DEBUG ? Log.DEBUG : Log.INFO;
   private final String logTag;
-  private final Vector<Character> logInfoBuffer = new Vector<>();
+  private final AtomicInteger sampleCounter = new AtomicInteger(0);
+  private volatile int sampleRate;
+
+  static {
+    logRingBuffer.setDiagnosticLogRing(diagnosticLogRing);
+    logRingBuffer.start();
+  }
+
   public SDKLog(Class<?> clazz) {
     logTag = clazz.getSimpleName();
+    sampleRate = sampleRates.getOrDefault(logTag, 1);
+    loggers.put(logTag, this);
+  }
+
+  /**
+   * Set the minimum level of the messages logged by the module.
+   * @param level one of the android.util.Log priorities
+   */
+  static void setLogLevel(final int level) {
+    logLevel = level;
+  }
+
+  static int getLogLevel() {
+    return logLevel;
+  }
+
+  static boolean isLoggable(final int level) {
+    return level >= logLevel;
+  }
+
+  /**
+   * Sample the messages below warning level of a tag.
+   * @param tag the tag, i.e. the simple class name of the logging class
+   * @param rate log one of every `rate` messages, 1 or less logs every message
+   */
+  static void setSampleRate(@NonNull final String tag, final int rate) {
+    final int sampleRate = Math.max(1, rate);
+    sampleRates.put(tag, sampleRate);
+    final SDKLog logger = loggers.get(tag);
+    if (null != logger) {
+      logger.sampleRate = sampleRate;
+    }
   }
 
   public void debug(final String message) {
-    if (BuildConfig.DEBUG) {
-      Log.d(logTag, message);
+    if (isEnabled(Log.DEBUG)) {
+      enqueue(Log.DEBUG, message);
+    }
+  }
+
+  public void debug(@NonNull final String format, final Object arg) {
+    if (isEnabled(Log.DEBUG)) {
+      enqueue(Log.DEBUG, String.format(format, arg));
+    }
+  }
+
+  public void debug(@NonNull final String format, final Object arg1, final Object arg2) {
+    if (isEnabled(Log.DEBUG)) {
+      enqueue(Log.DEBUG, String.format(format, arg1, arg2));
+    }
+  }
+
+  public void debug(@NonNull final String format, final Object... args) {
+    if (isEnabled(Log.DEBUG)) {
+      enqueue(Log.DEBUG, String.format(format, args));
+    }
+  }
+
+  public void debug(@NonNull final Supplier<String> message) {
+    if (isEnabled(Log.DEBUG)) {
+      enqueue(Log.DEBUG, message.get());
     }
   }
 
   public void log(final String message) {
-    Log.i(logTag, message);
+    if (isEnabled(Log.INFO)) {
+      enqueue(Log.INFO, message);
+    }
+  }
+
+  public void log(@NonNull final String format, final Object arg) {
+    if (isEnabled(Log.INFO)) {
+      enqueue(Log.INFO, String.format(format, arg));
+    }
+  }
+
+  public void log(@NonNull final String format, final Object... args) {
+    if (isEnabled(Log.INFO)) {
+      enqueue(Log.INFO, String.format(format, args));
+    }
+  }
+
+  public void log(@NonNull final Supplier<String> message) {
+    if (isEnabled(Log.INFO)) {
+      enqueue(Log.INFO, message.get());
+    }
   }
 
   public void warning(final String message) {
-    try {
-      write(message.getBytes());
-      flush();
-    } catch (Exception ignore) {}
+    if (isEnabled(Log.WARN)) {
+      enqueue(Log.WARN, message);
+    }
   }
 
-  public void error(final String message) {
-    Log.e(logTag, message);
+  public void warning(@NonNull final String format, final Object arg) {
+    if (isEnabled(Log.WARN)) {
+      enqueue(Log.WARN, String.format(format, arg));
+    }
+  }
+
+  public void warning(@NonNull final String format, final Object... args) {
+    if (isEnabled(Log.WARN)) {
+      enqueue(Log.WARN, String.format(format, args));
+    }
+  }
+
+  public void warning(@NonNull final Supplier<String> message) {
+    if (isEnabled(Log.WARN)) {
+      enqueue(Log.WARN, message.get());
+    }
   }
 
   public void warning(final Exception e, final String message) {
-    PrintStream printStream = new PrintStream(this);
-    printStream.println(message);
-    e.printStackTrace(printStream);
-    printStream.flush();
+    if (isEnabled(Log.WARN)) {
+      logRingBuffer.enqueue(Log.WARN, logTag, message, e);
+    }
+  }
+
+  public void warning(final Exception e, @NonNull final String format, final Object arg) {
+    if (isEnabled(Log.WARN)) {
+      logRingBuffer.enqueue(Log.WARN, logTag, String.format(format, arg), e);
+    }
   }
 
-  @Override
-  public synchronized void write(int i) throws IOException {
-    logInfoBuffer.add((char)i);
+  public void error(final String message) {
+    if (isEnabled(Log.ERROR)) {
+      enqueue(Log.ERROR, message);
+    }
   }
 
-  @Override
-  public synchronized void write(byte[] b) throws IOException {
-    for (char c: (new String(b, Charset.defaultCharset()).toCharArray())) {
-      logInfoBuffer.add(c);
+  public void error(@NonNull final String format, final Object arg) {
+    if (isEnabled(Log.ERROR)) {
+      enqueue(Log.ERROR, String.format(format, arg));
     }
   }
 
-  @Override
-  public void write(byte[] b, int off, int len) throws IOException {
-    for (char c: (new String(b, off, len, Charset.defaultCharset()).toCharArray())) {
-      logInfoBuffer.add(c);
+  public void error(@NonNull final String format, final Object... args) {
+    if (isEnabled(Log.ERROR)) {
+      enqueue(Log.ERROR, String.format(format, args));
     }
   }
 
-  @Override
-  public synchronized void flush() throws IOException {
-    char [] output = new char[logInfoBuffer.size()];
-    for (int i = 0; i < logInfoBuffer.size(); ++i) {
-      output[i] = logInfoBuffer.get(i);
+  public void error(@NonNull final Supplier<String> message) {
+    if (isEnabled(Log.ERROR)) {
+      enqueue(Log.ERROR, message.get());
     }
-    logInfoBuffer.clear();
-    Log.w(logTag, String.valueOf(output));
+  }
+
+  /**
+   * Resize the in-memory diagnostic log. Retained entries are discarded.
+   * @param sizeKb the size of the diagnostic log in kilobytes, 0 disables it
+   */
+  static synchronized void setDiagnosticLogSize(final int sizeKb) {
+    diagnosticLogRing = (sizeKb > 0) ? new DiagnosticLogRing(sizeKb) : null;
+    logRingBuffer.setDiagnosticLogRing(diagnosticLogRing);
+  }
+
+  /**
+   * @return the most recent log entries of the module, oldest first, one entry per line
+   */
+  static String getDiagnosticLogs() {
+    final DiagnosticLogRing diagnostics = diagnosticLogRing;
+    return (null != diagnostics) ? diagnostics.snapshot() : "";
+  }
+
+  /**
+   * @return the number of log entries dropped because the log ring buffer was full
+   */
+  static long getDroppedCount() {
+    return logRingBuffer.getDroppedCount();
+  }
+
+  private boolean isEnabled(final int level) {
+    if (!isLoggable(level)) {
+      return false;
+    }
+    final int rate = sampleRate;
+    return (level >= Log.WARN) || (rate <= 1) || (0 == (sampleCounter.getAndIncrement() & Integer.MAX_VALUE) % rate);
+  }
+
+  private void enqueue(final int level, final String message) {
+    logRingBuffer.enqueue(level, logTag, message, null);
   }
 }
@@ -0,0 +1,79 @@
+package com.twiliovoicereactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of decoded sounds, keyed by their source and bounded by the total
+ * size of their samples. Switching back to a recently used sound does not decode it again.
+ * <p>
+ * Samples are not modified once decoded, so a cached sample may be in use by a track while it is
+ * evicted.
+ */
+class SoundSampleCache {
+  private final long maxBytes;
+  private final LinkedHashMap<String, PcmSample> samples = new LinkedHashMap<>(16, 0.75f, true);
+  private long byteSize = 0;
+
+  /**
+   * @param maxBytes the maximum total size of the cached samples, 0 to disable caching
+   */
+  SoundSampleCache(long maxBytes) {
+    this.maxBytes = Math.max(0, maxBytes);
+  }
+
+  /**
+   * @param source the URI or file path of a sound
+   * @return the decoded sound, null if it is not cached
+   */
+  @Nullable
+  synchronized PcmSample get(@NonNull String source) {
+    return samples.get(source);
+  }
+
+  /**
+   * Cache a decoded sound, evicting the least recently used ones to make room. A sample larger
+   * than the cache is not cached.
+   * @param source the URI or file path of the sound
+   * @param sample the decoded sound
+   */
+  synchronized void put(@NonNull String source, @NonNull PcmSample sample) {
+    final PcmSample previous = samples.remove(source);
+    if (null != previous) {
+      byteSize -= previous.getByteSize();
+    }
+    if (sample.getByteSize() > maxBytes) {
+      return;
+    }
+    samples.put(source, sample);
+    byteSize += sample.getByteSize();
+    for (Iterator<Map.Entry<String, PcmSample>> iterator = samples.entrySet().iterator();
+         (byteSize > maxBytes) && iterator.hasNext(); ) {
+      byteSize -= iterator.next().getValue().getByteSize();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * @return the total size of the cached samples
+   */
+  synchronized long getByteSize() {
+    return byteSize;
+  }
+
+  /**
+   * @return the number of cached samples
+   */
+  synchronized int size() {
+    return samples.size();
+  }
+
+  synchronized void clear() {
+    samples.clear();
+    byteSize = 0;
+  }
+}
@@ -1,12 +1,18 @@
 package com.twiliovoicereactnative;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Vector;
 
 import android.content.Context;
 import android.util.Pair;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import org.json.JSONException;
 
@@ -24,21 +30,109 @@ import com.twilio.voice.StatsReport;
 
 import static com.twiliovoicereactnative.JSEventEmitter.constructJSArray;
 import static com.twiliovoicereactnative.JSEventEmitter.constructJSMap;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getMetricsSinkDispatcher;
 
 class StatsListenerProxy implements StatsListener {
+  /**
+   * Fingerprints of the ICE candidates and candidate pairs last reported for a call. Entries are
+   * keyed by a synthesized id and hold a hash of the fields that describe the entry's state, so
+   * that a change-only report can omit entries the JS layer has already seen.
+   */
+  static class IceStatsFingerprint {
+    private final Map<String, Integer> candidates = new HashMap<>();
+    private final Map<String, Integer> candidatePairs = new HashMap<>();
+
+    /**
+     * Record the fingerprint of a candidate.
+     * @return true if the candidate was not previously reported or its state has changed
+     */
+    synchronized boolean updateCandidate(@NonNull final String id, final int state) {
+      final Integer previous = candidates.put(id, state);
+      return (null == previous) || (previous != state);
+    }
+
+    /**
+     * Record the fingerprint of a candidate pair.
+     * @return true if the pair was not previously reported or its state has changed
+     */
+    synchronized boolean updateCandidatePair(@NonNull final String id, final int state) {
+      final Integer previous = candidatePairs.put(id, state);
+      return (null == previous) || (previous != state);
+    }
+
+    /**
+     * Drop all candidates that were not seen in the latest report.
+     * @return the ids of the dropped candidates
+     */
+    synchronized Object[] retainCandidates(@NonNull final Set<String> seen) {
+      return retain(candidates, seen);
+    }
+
+    /**
+     * Drop all candidate pairs that were not seen in the latest report.
+     * @return the ids of the dropped candidate pairs
+     */
+    synchronized Object[] retainCandidatePairs(@NonNull final Set<String> seen) {
+      return retain(candidatePairs, seen);
+    }
+
+    private static Object[] retain(@NonNull final Map<String, Integer> fingerprints,
+                                   @NonNull final Set<String> seen) {
+      Vector<String> removed = new Vector<>();
+      for (String id: fingerprints.keySet()) {
+        if (!seen.contains(id)) {
+          removed.add(id);
+        }
+      }
+      for (String id: removed) {
+        fingerprints.remove(id);
+      }
+      return removed.toArray();
+    }
+  }
+
   private final Promise promise;
+  private final IceStatsFingerprint fingerprint;
+  private final boolean changesOnly;
+  private final long requestedTimestamp = System.nanoTime();
 
   public StatsListenerProxy(String uuid, Context context, Promise promise) {
+    this(uuid, context, promise, null, false);
+  }
+
+  /**
+   * Construct a stats listener that keeps the ICE fingerprint of a call up-to-date.
+   * @param fingerprint the ICE fingerprint of the call, or null if none is kept
+   * @param changesOnly when true, only ICE candidates and candidate pairs that were added or
+   *                    changed state since the previous report are serialized, along with the
+   *                    ids of the removed ones. When false, a full report is serialized and
+   *                    becomes the baseline of the next change-only report.
+   */
+  public StatsListenerProxy(String uuid,
+                            Context context,
+                            Promise promise,
+                            @Nullable IceStatsFingerprint fingerprint,
+                            boolean changesOnly) {
     this.promise = promise;
+    this.fingerprint = fingerprint;
+    this.changesOnly = (null != fingerprint) && changesOnly;
   }
 
   @Override
   public void onStats(@NonNull List<StatsReport> statsReports) {
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("StatsListenerProxy.onStats")) {
+      onStatsInternal(statsReports);
+    }
+  }
+
+  private void onStatsInternal(@NonNull List<StatsReport> statsReports) {
     try {
       WritableArray statsReportsArray = Arguments.createArray();
+      final Set<String> seenCandidates = new HashSet<>();
+      final Set<String> seenCandidatePairs = new HashSet<>();
+      final List<WritableMap> statsReportMaps = new ArrayList<>(statsReports.size());
       for(StatsReport statsReport: statsReports)  {
-        statsReportsArray.pushMap(
-          constructJSMap(
+        statsReportMaps.add(constructJSMap(
           new Pair<>(CommonConstants.PeerConnectionId, statsReport.getPeerConnectionId()),
           new Pair<>(
             CommonConstants.LocalAudioTrackStats,
@@ -48,18 +142,64 @@ class StatsListenerProxy implements StatsListener {
             constructJSArray(jsonWithRemoteAudioTrackStats(statsReport.getRemoteAudioTrackStats()))),
           new Pair<>(
             CommonConstants.IceCandidatePairStats,
-            constructJSArray(jsonWithIceCandidatePairStats(statsReport.getIceCandidatePairStats()))),
+            constructJSArray(jsonWithIceCandidatePairStats(
+              statsReport.getPeerConnectionId(),
+              statsReport.getIceCandidatePairStats(),
+              seenCandidatePairs))),
           new Pair<>(
             CommonConstants.IceCandidateStats,
-            constructJSArray(jsonWithIceCandidateStats(statsReport.getIceCandidateStats())))));
+            constructJSArray(jsonWithIceCandidateStats(
+              statsReport.getPeerConnectionId(),
+              statsReport.getIceCandidateStats(),
+              seenCandidates)))));
+      }
+      // retain once across all reports, the ids of each peer connection are prefixed with its id
+      final Object[] removedCandidatePairs = (null != fingerprint)
+        ? fingerprint.retainCandidatePairs(seenCandidatePairs)
+        : new Object[0];
+      final Object[] removedCandidates = (null != fingerprint)
+        ? fingerprint.retainCandidates(seenCandidates)
+        : new Object[0];
+      for (int i = 0; i < statsReportMaps.size(); ++i) {
+        final WritableMap statsReportMap = statsReportMaps.get(i);
+        if (changesOnly) {
+          final String peerConnectionId = statsReports.get(i).getPeerConnectionId();
+          statsReportMap.putBoolean(CommonConstants.IceStatsChangesOnly, true);
+          statsReportMap.putArray(
+            CommonConstants.RemovedIceCandidatePairStats,
+            constructJSArray(ofPeerConnection(peerConnectionId, removedCandidatePairs)));
+          statsReportMap.putArray(
+            CommonConstants.RemovedIceCandidateStats,
+            constructJSArray(ofPeerConnection(peerConnectionId, removedCandidates)));
+        }
+        statsReportsArray.pushMap(statsReportMap);
       }
       promise.resolve(statsReportsArray);
+      getMetricsSinkDispatcher().timer(
+        VoiceMetricsSink.STATS_SAMPLE_DURATION,
+        null,
+        (System.nanoTime() - requestedTimestamp) / 1000L);
     } catch (JSONException e) {
       promise.reject(StatsListenerProxy.class.getSimpleName(), e.getMessage());
       e.printStackTrace();
     }
   }
 
+  /**
+   * The ids of a peer connection among removed ids. The ids of peer connections that are no longer
+   * reported at all are dropped, there is no report left to carry them.
+   */
+  private static Object[] ofPeerConnection(String peerConnectionId, Object[] ids) {
+    final String prefix = peerConnectionId + '/';
+    Vector<Object> matching = new Vector<>();
+    for (Object id: ids) {
+      if (((String) id).startsWith(prefix)) {
+        matching.add(id);
+      }
+    }
+    return matching.toArray();
+  }
+
   private Object[] jsonWithLocalAudioTrackStats(List<LocalAudioTrackStats> audioTrackStatsList) throws JSONException {
     Vector<WritableMap> mapList = new Vector<>();
     for (LocalAudioTrackStats localAudioTrackStats: audioTrackStatsList) {
@@ -104,11 +244,21 @@ class StatsListenerProxy implements StatsListener {
     return mapList.toArray();
   }
 
-  private Object[] jsonWithIceCandidatePairStats(List<IceCandidatePairStats> iceCandidatePairStatsList) throws JSONException {
+  private Object[] jsonWithIceCandidatePairStats(String peerConnectionId,
+                                                 List<IceCandidatePairStats> iceCandidatePairStatsList,
+                                                 Set<String> seen) throws JSONException {
     Vector<WritableMap> mapList = new Vector<>();
     for (IceCandidatePairStats iceCandidatePairStats: iceCandidatePairStatsList) {
+      final String id = iceCandidatePairId(peerConnectionId, iceCandidatePairStats);
+      seen.add(id);
+      final boolean changed = (null == fingerprint) ||
+        fingerprint.updateCandidatePair(id, iceCandidatePairFingerprint(iceCandidatePairStats));
+      if (changesOnly && !changed) {
+        continue;
+      }
       mapList.add(
         constructJSMap(
+          new Pair<>(CommonConstants.IceStatsId, changesOnly ? id : null),
           new Pair<>(CommonConstants.ActiveCandidatePair, iceCandidatePairStats.activeCandidatePair),
           new Pair<>(CommonConstants.AvailableIncomingBitrate, iceCandidatePairStats.availableIncomingBitrate),
           new Pair<>(CommonConstants.AvailableOutgoingBitrate, iceCandidatePairStats.availableOutgoingBitrate),
@@ -141,11 +291,21 @@ class StatsListenerProxy implements StatsListener {
     return mapList.toArray();
   }
 
-  private Object[] jsonWithIceCandidateStats(List<IceCandidateStats> iceCandidateStatsList) throws JSONException {
+  private Object[] jsonWithIceCandidateStats(String peerConnectionId,
+                                             List<IceCandidateStats> iceCandidateStatsList,
+                                             Set<String> seen) throws JSONException {
     Vector<WritableMap> mapList = new Vector<>();
     for (IceCandidateStats iceCandidateStats: iceCandidateStatsList) {
+      final String id = iceCandidateId(peerConnectionId, iceCandidateStats);
+      seen.add(id);
+      final boolean changed = (null == fingerprint) ||
+        fingerprint.updateCandidate(id, iceCandidateFingerprint(iceCandidateStats));
+      if (changesOnly && !changed) {
+        continue;
+      }
       mapList.add(
         constructJSMap(
+          new Pair<>(CommonConstants.IceStatsId, changesOnly ? id : null),
           new Pair<>(CommonConstants.CandidateType, iceCandidateStats.candidateType),
           new Pair<>(CommonConstants.Deleted, iceCandidateStats.deleted),
           new Pair<>(CommonConstants.Ip, iceCandidateStats.ip),
@@ -159,6 +319,41 @@ class StatsListenerProxy implements StatsListener {
     return mapList.toArray();
   }
 
+  /**
+   * Candidates carry no id of their own, so one is synthesized from the fields that identify the
+   * transport address of the candidate.
+   */
+  private static String iceCandidateId(String peerConnectionId, IceCandidateStats stats) {
+    return peerConnectionId + '/' + stats.transportId + '/' + (stats.isRemote ? "remote" : "local") +
+      '/' + stats.candidateType + '/' + stats.protocol + '/' + stats.ip + ':' + stats.port;
+  }
+
+  private static int iceCandidateFingerprint(IceCandidateStats stats) {
+    int hash = Boolean.hashCode(stats.deleted);
+    hash = 31 * hash + Long.hashCode(stats.priority);
+    hash = 31 * hash + ((null != stats.url) ? stats.url.hashCode() : 0);
+    return hash;
+  }
+
+  private static String iceCandidatePairId(String peerConnectionId, IceCandidatePairStats stats) {
+    return peerConnectionId + '/' + stats.transportId + '/' +
+      stats.localCandidateId + '/' + stats.remoteCandidateId;
+  }
+
+  /**
+   * Only the state of a candidate pair is fingerprinted, the traffic counters change on every
+   * report and are not considered a change.
+   */
+  private static int iceCandidatePairFingerprint(IceCandidatePairStats stats) {
+    int hash = (null != stats.state) ? stats.state.ordinal() : -1;
+    hash = 31 * hash + Boolean.hashCode(stats.activeCandidatePair);
+    hash = 31 * hash + Boolean.hashCode(stats.nominated);
+    hash = 31 * hash + Boolean.hashCode(stats.readable);
+    hash = 31 * hash + Boolean.hashCode(stats.writeable);
+    hash = 31 * hash + ((null != stats.relayProtocol) ? stats.relayProtocol.hashCode() : 0);
+    return hash;
+  }
+
   private String stringWithIceCandidatePairState(IceCandidatePairState state) {
     switch (state) {
       case STATE_FAILED:
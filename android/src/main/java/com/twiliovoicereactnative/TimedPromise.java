@@ -0,0 +1,107 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getVoiceMetrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A promise that records the time from the start of a native method to the settling of its
+ * promise, then forwards the outcome to the promise passed by the JS layer.
+ */
+class TimedPromise implements Promise {
+  private final Promise promise;
+  private final String method;
+  private final long startedTimestamp;
+  private final AtomicBoolean settled = new AtomicBoolean(false);
+
+  /**
+   * @param promise the promise passed by the JS layer
+   * @param method the name of the native method
+   * @param startedTimestamp {@link System#nanoTime()} at which the method body started
+   */
+  TimedPromise(@NonNull Promise promise, @NonNull String method, long startedTimestamp) {
+    this.promise = promise;
+    this.method = method;
+    this.startedTimestamp = startedTimestamp;
+  }
+
+  @Override
+  public void resolve(@Nullable Object value) {
+    settle();
+    promise.resolve(value);
+  }
+
+  @Override
+  public void reject(String code, String message) {
+    settle();
+    promise.reject(code, message);
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable) {
+    settle();
+    promise.reject(code, throwable);
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable) {
+    settle();
+    promise.reject(code, message, throwable);
+  }
+
+  @Override
+  public void reject(Throwable throwable) {
+    settle();
+    promise.reject(throwable);
+  }
+
+  @Override
+  public void reject(Throwable throwable, WritableMap userInfo) {
+    settle();
+    promise.reject(throwable, userInfo);
+  }
+
+  @Override
+  public void reject(String code, @NonNull WritableMap userInfo) {
+    settle();
+    promise.reject(code, userInfo);
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable, WritableMap userInfo) {
+    settle();
+    promise.reject(code, throwable, userInfo);
+  }
+
+  @Override
+  public void reject(String code, String message, @NonNull WritableMap userInfo) {
+    settle();
+    promise.reject(code, message, userInfo);
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+    settle();
+    promise.reject(code, message, throwable, userInfo);
+  }
+
+  @Override
+  @Deprecated
+  public void reject(String message) {
+    settle();
+    promise.reject(message);
+  }
+
+  private void settle() {
+    if (settled.compareAndSet(false, true)) {
+      getVoiceMetrics().recordReactMethodExecutionLatency(
+        method, startedTimestamp, System.nanoTime());
+    }
+  }
+}
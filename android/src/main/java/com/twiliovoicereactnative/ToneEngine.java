@@ -0,0 +1,290 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getVoiceMetrics;
+
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioManager;
+import android.media.AudioTimestamp;
+import android.media.AudioTrack;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Plays the sounds of calls through low-latency static {@link AudioTrack}s. Each sound is decoded
+ * once to a {@link PcmSample}, resampled to the native output rate so that its track is eligible
+ * for the fast mixer path, and written to its own track, so starting it does not decode or copy
+ * anything. Tracks are built and written on the decoding thread, without holding any lock;
+ * the track of a sound can then be replaced while it plays.
+ * <p>
+ * A track is shared by all streams of its sound: it starts with the first stream and stops with
+ * the last one. The latency from play to the first frame being presented is measured from the
+ * timestamps of the track and recorded in {@link VoiceMetrics}.
+ */
+class ToneEngine {
+  private static final SDKLog logger = new SDKLog(ToneEngine.class);
+  private static final long LATENCY_PROBE_INTERVAL_MILLIS = 2;
+  private static final long LATENCY_PROBE_TIMEOUT_NANOS = 500_000_000L;
+
+  interface SampleLoader {
+    /**
+     * Invoked on the decoding thread of the engine.
+     * @return the decoded sample
+     * @throws IOException if the sample cannot be read or decoded
+     */
+    @NonNull
+    PcmSample load() throws IOException;
+  }
+
+  /**
+   * A track holding the samples of a sound.
+   */
+  static final class Tone {
+    private final AudioTrack track;
+    private final int frameCount;
+    private final int sampleRate;
+    private int streamCount = 0;
+    private boolean looping = false;
+    private long playTimestamp = 0;
+
+    private Tone(@NonNull AudioTrack track, int frameCount, int sampleRate) {
+      this.track = track;
+      this.frameCount = frameCount;
+      this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Release a tone that was not set.
+     */
+    void release() {
+      track.release();
+    }
+  }
+
+  private final ExecutorService decoder = Executors.newSingleThreadExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "twilio-voice-tone-decoder");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+    final Thread thread = new Thread(runnable, "twilio-voice-tone-engine");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final Map<MediaPlayerManager.SoundTable, Tone> tones =
+    new EnumMap<>(MediaPlayerManager.SoundTable.class);
+  private final Map<Integer, MediaPlayerManager.SoundTable> streams = new HashMap<>();
+  private int nextStreamId = 1;
+  private volatile boolean released = false;
+  // accessed only from the decoding thread
+  private int outputSampleRate = 0;
+
+  /**
+   * Decode a sample and write it to a new track off the calling thread. Decoding has its own
+   * thread so that it does not delay the latency probes of playing sounds.
+   * @param name the name of the sample, for logging
+   * @param loader the loader of the sample
+   * @param callback invoked on the decoding thread with the tone, or null if it could not be
+   *                 decoded; the tone must be passed to {@link #setTone} or released
+   */
+  void decode(@NonNull String name,
+              @NonNull SampleLoader loader,
+              @NonNull Consumer<Tone> callback) {
+    if (decoder.isShutdown()) {
+      return;
+    }
+    decoder.execute(() -> {
+      Tone tone = null;
+      try {
+        tone = createTone(loader.load().resample(getOutputSampleRate()));
+      } catch (IOException | RuntimeException e) {
+        logger.warning(e, "Failed to decode %s", name);
+      }
+      callback.accept(tone);
+    });
+  }
+
+  /**
+   * Start a stream of a sound. If the sound is already playing, the stream joins it.
+   * @param sound the sound
+   * @param looping true to loop until stopped
+   * @return the stream ID, 0 if the sound is not loaded
+   */
+  synchronized int play(@NonNull MediaPlayerManager.SoundTable sound, boolean looping) {
+    final Tone tone = tones.get(sound);
+    if (null == tone) {
+      return 0;
+    }
+    if ((0 == tone.streamCount) || !looping) {
+      start(tone, looping);
+    }
+    ++tone.streamCount;
+    final int streamId = nextStreamId++;
+    streams.put(streamId, sound);
+    return streamId;
+  }
+
+  /**
+   * Stop a stream, the track of its sound stops with its last stream.
+   * @param streamId the stream ID returned by {@link #play}
+   */
+  synchronized void stop(int streamId) {
+    final MediaPlayerManager.SoundTable sound = streams.remove(streamId);
+    final Tone tone = (null != sound) ? tones.get(sound) : null;
+    if ((null != tone) && (0 == --tone.streamCount)) {
+      tone.track.stop();
+    }
+  }
+
+  /**
+   * Release all tracks and stop the thread of the engine.
+   */
+  synchronized void release() {
+    released = true;
+    decoder.shutdownNow();
+    executor.shutdownNow();
+    for (Tone tone: tones.values()) {
+      tone.track.release();
+    }
+    tones.clear();
+    streams.clear();
+  }
+
+  /**
+   * Set the track of a sound, replacing the previous track. Looping streams of the previous track
+   * carry on with the new one.
+   * @param sound the sound
+   * @param tone the tone decoded for the sound
+   * @return false if the engine is released, in which case the tone is released
+   */
+  synchronized boolean setTone(@NonNull MediaPlayerManager.SoundTable sound, @NonNull Tone tone) {
+    if (released) {
+      tone.release();
+      return false;
+    }
+    final Tone previous = tones.put(sound, tone);
+    if (null != previous) {
+      previous.track.release();
+      tone.streamCount = previous.streamCount;
+      if ((tone.streamCount > 0) && previous.looping) {
+        start(tone, true);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Write a sample to a new track. Blocks until written, so must not be called with a lock held.
+   * @param sample the sample, which is not modified and may be shared
+   * @return the tone, null if the engine is released or the track could not be created
+   */
+  @Nullable
+  private Tone createTone(@NonNull PcmSample sample) {
+    if (released) {
+      return null;
+    }
+    final AudioTrack.Builder builder = new AudioTrack.Builder()
+      .setAudioAttributes(
+        new AudioAttributes.Builder()
+          .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+          .setUsage(AudioAttributes.USAGE_VOICE_COMMUNICATION)
+          .build())
+      .setAudioFormat(
+        new AudioFormat.Builder()
+          .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+          .setSampleRate(sample.getSampleRate())
+          .setChannelMask((1 == sample.getChannelCount())
+            ? AudioFormat.CHANNEL_OUT_MONO
+            : AudioFormat.CHANNEL_OUT_STEREO)
+          .build())
+      .setTransferMode(AudioTrack.MODE_STATIC)
+      .setBufferSizeInBytes(sample.getByteSize());
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+      builder.setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY);
+    }
+    final AudioTrack track = builder.build();
+    if ((sample.getByteSize() != track.write(
+      sample.getData(), sample.getByteSize(), AudioTrack.WRITE_BLOCKING))
+      || (AudioTrack.STATE_INITIALIZED != track.getState())) {
+      track.release();
+      return null;
+    }
+    return new Tone(track, sample.getFrameCount(), sample.getSampleRate());
+  }
+
+  /**
+   * Release the track of a sound, its streams end.
+   * @param sound the sound
+   */
+  synchronized void removeSample(@NonNull MediaPlayerManager.SoundTable sound) {
+    final Tone tone = tones.remove(sound);
+    if (null != tone) {
+      tone.track.release();
+      streams.values().removeIf(streamSound -> streamSound == sound);
+    }
+  }
+
+  /**
+   * @return the native output rate of voice call audio, 0 if unknown
+   */
+  private int getOutputSampleRate() {
+    if (0 == outputSampleRate) {
+      outputSampleRate = Math.max(0,
+        AudioTrack.getNativeOutputSampleRate(AudioManager.STREAM_VOICE_CALL));
+    }
+    return outputSampleRate;
+  }
+
+  private void start(@NonNull Tone tone, boolean looping) {
+    tone.track.stop();
+    tone.track.reloadStaticData();
+    tone.track.setLoopPoints(0, tone.frameCount, looping ? -1 : 0);
+    tone.looping = looping;
+    tone.playTimestamp = System.nanoTime();
+    tone.track.play();
+    probeLatency(tone, tone.playTimestamp);
+  }
+
+  /**
+   * Poll the timestamp of a track until its first frame is presented, then record the latency
+   * from play. Abandoned if the track is restarted or stopped in the meantime.
+   */
+  private void probeLatency(@NonNull Tone tone, long playTimestamp) {
+    if (released) {
+      return;
+    }
+    executor.schedule(() -> {
+      final AudioTimestamp timestamp = new AudioTimestamp();
+      synchronized (this) {
+        if (released
+          || (tone.playTimestamp != playTimestamp)
+          || (AudioTrack.PLAYSTATE_PLAYING != tone.track.getPlayState())) {
+          return;
+        }
+        if (!tone.track.getTimestamp(timestamp) || (timestamp.framePosition <= 0)) {
+          if (System.nanoTime() - playTimestamp < LATENCY_PROBE_TIMEOUT_NANOS) {
+            probeLatency(tone, playTimestamp);
+          }
+          return;
+        }
+      }
+      final long firstFrameTimestamp =
+        timestamp.nanoTime - (timestamp.framePosition * 1_000_000_000L / tone.sampleRate);
+      getVoiceMetrics().recordSoundLatency(
+        Math.max(0, (firstFrameTimestamp - playTimestamp) / 1000L));
+    }, LATENCY_PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+}
@@ -19,6 +19,7 @@ import com.twilio.voice.Call;
 import com.twilio.voice.CallMessage;
 import com.twilio.voice.ConnectOptions;
 import com.twilio.voice.LogLevel;
+import com.twilio.voice.LogModule;
 import com.twilio.voice.RegistrationException;
 import com.twilio.voice.RegistrationListener;
 import com.twilio.voice.UnregistrationListener;
@@ -27,12 +28,16 @@ import com.twilio.voice.Voice;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static com.twiliovoicereactnative.CommonConstants.MetricsBridgeTraffic;
 import static com.twiliovoicereactnative.CommonConstants.ReactNativeVoiceSDK;
 import static com.twiliovoicereactnative.CommonConstants.ReactNativeVoiceSDKVer;
 import static com.twiliovoicereactnative.CommonConstants.VoiceEventType;
 import static com.twiliovoicereactnative.CommonConstants.VoiceErrorKeyError;
 import static com.twiliovoicereactnative.CommonConstants.ScopeVoice;
+import static com.twiliovoicereactnative.CommonConstants.VoiceEventAudioDevicesChanged;
 import static com.twiliovoicereactnative.CommonConstants.VoiceEventAudioDevicesUpdated;
 import static com.twiliovoicereactnative.CommonConstants.VoiceEventError;
 import static com.twiliovoicereactnative.CommonConstants.VoiceEventRegistered;
@@ -41,13 +46,17 @@ import static com.twiliovoicereactnative.JSEventEmitter.constructJSMap;
 import static com.twiliovoicereactnative.ReactNativeArgumentsSerializer.serializeCall;
 import static com.twiliovoicereactnative.ReactNativeArgumentsSerializer.serializeCallInvite;
 import static com.twiliovoicereactnative.VoiceApplicationProxy.getCallRecordDatabase;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getDtmfTonePlayer;
 import static com.twiliovoicereactnative.VoiceApplicationProxy.getJSEventEmitter;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getMediaPlayerManager;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getVoiceMetrics;
 import static com.twiliovoicereactnative.VoiceApplicationProxy.getVoiceServiceApi;
 import static com.twiliovoicereactnative.ReactNativeArgumentsSerializer.*;
 
 import android.annotation.SuppressLint;
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
 import android.util.Pair;
 
 import com.twiliovoicereactnative.CallRecordDatabase.CallRecord;
@@ -86,6 +95,40 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
     CommonConstants.CallFeedbackIssueOneWayAudio, Call.Issue.ONE_WAY_AUDIO
   );
 
+  /**
+   * Map of common constant log level strings to the LogLevel enum.
+   */
+  private static final Map<String, LogLevel> logLevelMap = Map.of(
+    CommonConstants.LogLevelAll, LogLevel.ALL,
+    CommonConstants.LogLevelTrace, LogLevel.TRACE,
+    CommonConstants.LogLevelDebug, LogLevel.DEBUG,
+    CommonConstants.LogLevelInfo, LogLevel.INFO,
+    CommonConstants.LogLevelWarning, LogLevel.WARNING,
+    CommonConstants.LogLevelError, LogLevel.ERROR,
+    CommonConstants.LogLevelFatal, LogLevel.FATAL,
+    CommonConstants.LogLevelOff, LogLevel.OFF
+  );
+
+  /**
+   * Map of common constant sound strings to the sounds of the media player.
+   */
+  private static final Map<String, MediaPlayerManager.SoundTable> soundMap = Map.of(
+    CommonConstants.SoundIncoming, MediaPlayerManager.SoundTable.INCOMING,
+    CommonConstants.SoundOutgoing, MediaPlayerManager.SoundTable.OUTGOING,
+    CommonConstants.SoundDisconnect, MediaPlayerManager.SoundTable.DISCONNECT,
+    CommonConstants.SoundRingtone, MediaPlayerManager.SoundTable.RINGTONE
+  );
+
+  /**
+   * Map of common constant log module strings to the LogModule enum.
+   */
+  private static final Map<String, LogModule> logModuleMap = Map.of(
+    CommonConstants.LogModuleCore, LogModule.CORE,
+    CommonConstants.LogModulePlatform, LogModule.PLATFORM,
+    CommonConstants.LogModuleSignaling, LogModule.SIGNALING,
+    CommonConstants.LogModuleWebRTC, LogModule.WEBRTC
+  );
+
   private final ReactApplicationContext reactContext;
   private final AudioSwitchManager audioSwitchManager;
 
@@ -101,15 +144,21 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
     getJSEventEmitter().setContext(reactContext);
 
     audioSwitchManager = VoiceApplicationProxy.getAudioSwitchManager()
-      .setListener((audioDevices, selectedDeviceUuid, selectedDevice) -> {
-        WritableMap audioDeviceInfo = serializeAudioDeviceInfo(
-          audioDevices,
-          selectedDeviceUuid,
-          selectedDevice
-        );
-        audioDeviceInfo.putString(VoiceEventType, VoiceEventAudioDevicesUpdated);
-        getJSEventEmitter().sendEvent(ScopeVoice, audioDeviceInfo);
-      });
+      .setListener(change ->
+        getJSEventEmitter().sendEvent(ScopeVoice, () -> {
+          if (change.full) {
+            WritableMap audioDeviceInfo = serializeAudioDeviceInfo(
+              change.audioDevices,
+              change.selectedAudioDeviceUuid,
+              change.selectedDevice
+            );
+            audioDeviceInfo.putString(VoiceEventType, VoiceEventAudioDevicesUpdated);
+            return audioDeviceInfo;
+          }
+          WritableMap audioDeviceChange = serializeAudioDeviceChange(change);
+          audioDeviceChange.putString(VoiceEventType, VoiceEventAudioDevicesChanged);
+          return audioDeviceChange;
+        }));
   }
 
   /**
@@ -122,7 +171,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void addListener(String eventName) {
-    logger.debug(String.format("Calling addListener: %s", eventName));
+    logger.debug("Calling addListener: %s", eventName);
   }
 
   /**
@@ -135,7 +184,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeListeners(Integer count) {
-    logger.debug("Calling removeListeners: " + count);
+    logger.debug("Calling removeListeners: %s", count);
   }
 
   @Override
@@ -149,7 +198,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
       @Override
       public void onRegistered(@NonNull String accessToken, @NonNull String fcmToken) {
         logger.log("Successfully registered FCM");
-        sendJSEvent(constructJSMap(new Pair<>(VoiceEventType, VoiceEventRegistered)));
+        sendJSEvent(() -> constructJSMap(new Pair<>(VoiceEventType, VoiceEventRegistered)));
         promise.resolve(null);
       }
 
@@ -163,7 +212,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
           registrationException.getMessage());
         logger.error(errorMessage);
 
-        sendJSEvent(constructJSMap(
+        sendJSEvent(() -> constructJSMap(
           new Pair<>(VoiceEventType, VoiceEventError),
           new Pair<>(VoiceErrorKeyError, serializeVoiceException(registrationException))));
 
@@ -177,7 +226,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
       @Override
       public void onUnregistered(String accessToken, String fcmToken) {
         logger.log("Successfully unregistered FCM");
-        sendJSEvent(constructJSMap(new Pair<>(VoiceEventType, VoiceEventUnregistered)));
+        sendJSEvent(() -> constructJSMap(new Pair<>(VoiceEventType, VoiceEventUnregistered)));
         promise.resolve(null);
       }
 
@@ -190,7 +239,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
           registrationException.getMessage());
         logger.error(errorMessage);
 
-        sendJSEvent(constructJSMap(
+        sendJSEvent(() -> constructJSMap(
           new Pair<>(VoiceEventType, VoiceEventError),
           new Pair<>(VoiceErrorKeyError, serializeVoiceException(registrationException))));
 
@@ -208,7 +257,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   ) {
     logger.debug(".voice_connect_android()");
 
-    mainHandler.post(() -> {
+    dispatch("voice_connect_android", promise, timedPromise -> {
       logger.debug(".voice_connect_android() > runnable");
 
       HashMap<String, String> parsedTwimlParams = new HashMap<>();
@@ -229,13 +278,14 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
             parsedTwimlParams.put(key, twimlParams.getString(key));
             break;
           default:
-            logger.warning("Could not convert with key: " + key + ".");
+            logger.warning("Could not convert with key: %s.", key);
             break;
         }
       }
 
       // connect & create call record
       final UUID uuid = UUID.randomUUID();
+      VoiceTrace.beginAsyncSection(VoiceTrace.ASYNC_CALL_CONNECT, uuid);
       final String callRecipient =
         (parsedTwimlParams.containsKey("to") && !(parsedTwimlParams.get("to").isBlank()))
           ? parsedTwimlParams.get("to")
@@ -246,6 +296,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
         .callMessageListener(new CallMessageListenerProxy())
         .build();
       try {
+        final long connectTimestamp = System.nanoTime();
         CallRecord callRecord = new CallRecord(
           uuid,
           getVoiceServiceApi().connect(
@@ -255,11 +306,12 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
           parsedTwimlParams,
           CallRecord.Direction.OUTGOING,
           notificationDisplayName);
+        callRecord.getLatencyTrace().mark(CallLatencyTrace.Stage.CONNECT_INVOKED, connectTimestamp);
         getCallRecordDatabase().add(callRecord);
         // notify JS layer
-        promise.resolve(serializeCall(callRecord));
+        timedPromise.resolve(serializeCall(callRecord));
       } catch (SecurityException e) {
-        promise.reject(e, serializeError(31401, e.getMessage()));
+        timedPromise.reject(e, serializeError(31401, e.getMessage()));
       }
     });
   }
@@ -304,18 +356,21 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void voice_getCalls(Promise promise) {
     logger.debug(".voice_getCalls()");
 
-    mainHandler.post(() -> {
+    dispatch("voice_getCalls", promise, timedPromise -> {
       logger.debug(".voice_getCalls() > runnable");
 
       WritableArray callInfos = Arguments.createArray();
-      for (CallRecord callRecord : getCallRecordDatabase().getCollection()) {
-        // incoming calls that have not been acted on do not have call-objects
-        if (null != callRecord.getVoiceCall()) {
-          callInfos.pushMap(serializeCall(callRecord));
+      try (VoiceTrace.Section ignored =
+             VoiceTrace.beginSection("TwilioVoiceReactNativeModule.serializeCalls")) {
+        for (CallRecord callRecord : getCallRecordDatabase().getCollection()) {
+          // incoming calls that have not been acted on do not have call-objects
+          if (null != callRecord.getVoiceCall()) {
+            callInfos.pushMap(serializeCall(callRecord));
+          }
         }
       }
 
-      promise.resolve(callInfos);
+      timedPromise.resolve(callInfos);
     });
   }
 
@@ -323,46 +378,153 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void voice_getCallInvites(Promise promise) {
     logger.debug(".voice_getCallInvites()");
 
-    mainHandler.post(() -> {
+    dispatch("voice_getCallInvites", promise, timedPromise -> {
       logger.debug(".voice_getCallInvites() > runnable");
 
       WritableArray callInviteInfos = Arguments.createArray();
-      for (CallRecord callRecord : getCallRecordDatabase().getCollection()) {
-        if (null != callRecord.getCallInvite() &&
-          CallRecord.CallInviteState.ACTIVE == callRecord.getCallInviteState()) {
-          callInviteInfos.pushMap(serializeCallInvite(callRecord));
+      try (VoiceTrace.Section ignored =
+             VoiceTrace.beginSection("TwilioVoiceReactNativeModule.serializeCallInvites")) {
+        for (CallRecord callRecord : getCallRecordDatabase().getCollection()) {
+          if (null != callRecord.getCallInvite() &&
+            CallRecord.CallInviteState.ACTIVE == callRecord.getCallInviteState()) {
+            callInviteInfos.pushMap(serializeCallInvite(callRecord));
+          }
         }
       }
 
-      promise.resolve(callInviteInfos);
+      timedPromise.resolve(callInviteInfos);
     });
   }
 
   @ReactMethod
   public void voice_getAudioDevices(Promise promise) {
-    Map<String, AudioDevice> audioDevices = audioSwitchManager.getAudioDevices();
-    String selectedAudioDeviceUuid = audioSwitchManager.getSelectedAudioDeviceUuid();
-    AudioDevice selectedAudioDevice = audioSwitchManager.getSelectedAudioDevice();
+    audioSwitchManager.queryAudioDevices(snapshot -> {
+      WritableMap audioDeviceInfo = serializeAudioDeviceInfo(
+        snapshot.audioDevices,
+        snapshot.selectedAudioDeviceUuid,
+        snapshot.selectedDevice
+      );
+
+      promise.resolve(audioDeviceInfo);
+    });
+  }
 
-    WritableMap audioDeviceInfo = serializeAudioDeviceInfo(
-      audioDevices,
-      selectedAudioDeviceUuid,
-      selectedAudioDevice
-    );
+  @ReactMethod
+  public void voice_selectAudioDevice(String uuid, Promise promise) {
+    audioSwitchManager.queryAudioDevices(snapshot -> {
+      AudioDevice audioDevice = snapshot.audioDevices.get(uuid);
+      if (audioDevice == null) {
+        promise.reject(reactContext.getString(R.string.missing_audiodevice_uuid, uuid));
+        return;
+      }
+
+      audioSwitchManager.selectAudioDevice(audioDevice);
 
-    promise.resolve(audioDeviceInfo);
+      promise.resolve(null);
+    });
   }
 
+  /**
+   * Set the log level at runtime.
+   * @param level the log level
+   * @param module the module to set the log level of. The Voice SDK modules only affect the Voice
+   *               SDK, the React Native module only affects the logging of this module. When null,
+   *               the level is applied to the Voice SDK as a whole and to this module.
+   */
   @ReactMethod
-  public void voice_selectAudioDevice(String uuid, Promise promise) {
-    AudioDevice audioDevice = audioSwitchManager.getAudioDevices().get(uuid);
-    if (audioDevice == null) {
-      promise.reject(reactContext.getString(R.string.missing_audiodevice_uuid, uuid));
+  public void voice_setLogLevel(String level, String module, Promise promise) {
+    final LogLevel logLevel = logLevelMap.get(level);
+    if (null == logLevel) {
+      promise.reject(reactContext.getString(R.string.invalid_log_level, level));
       return;
     }
+    if (null == module) {
+      Voice.setLogLevel(logLevel);
+      SDKLog.setLogLevel(getLogPriorityFromLogLevel(logLevel));
+    } else if (CommonConstants.LogModuleReactNative.equals(module)) {
+      SDKLog.setLogLevel(getLogPriorityFromLogLevel(logLevel));
+    } else if (logModuleMap.containsKey(module)) {
+      Voice.setModuleLogLevel(logModuleMap.get(module), logLevel);
+    } else {
+      promise.reject(reactContext.getString(R.string.invalid_log_module, module));
+      return;
+    }
+    promise.resolve(null);
+  }
 
-    audioSwitchManager.getAudioSwitch().selectDevice(audioDevice);
+  /**
+   * Sample the debug and info messages of a high-frequency log tag of this module.
+   * @param tag the log tag, i.e. the simple class name of the logging class
+   * @param rate log one of every `rate` messages, 1 logs every message
+   */
+  @ReactMethod
+  public void voice_setLogSampleRate(String tag, int rate, Promise promise) {
+    SDKLog.setSampleRate(tag, rate);
+    promise.resolve(null);
+  }
 
+  /**
+   * Enable or disable android.os.Trace sections around the call lifecycle, for use with system
+   * traces. Asynchronous sections are keyed by the hash of the call UUID.
+   */
+  @ReactMethod
+  public void voice_setTracingEnabled(boolean enabled, Promise promise) {
+    VoiceTrace.setEnabled(enabled);
+    promise.resolve(null);
+  }
+
+  /**
+   * Replace call sounds by files or URIs, for example to brand the ringtone. Resolves without
+   * waiting for the sounds to be decoded, the built-in sounds play until they are.
+   * @param sounds the file path or URI of each sound to replace, null to restore the built-in
+   *               sound. Sounds not in the map are left unchanged.
+   */
+  @ReactMethod
+  public void voice_setSounds(ReadableMap sounds, Promise promise) {
+    final Map<MediaPlayerManager.SoundTable, String> sources = new HashMap<>();
+    for (Map.Entry<String, Object> entry: sounds.toHashMap().entrySet()) {
+      final MediaPlayerManager.SoundTable sound = soundMap.get(entry.getKey());
+      if (null == sound) {
+        promise.reject(reactContext.getString(R.string.invalid_sound, entry.getKey()));
+        return;
+      }
+      final Object source = entry.getValue();
+      if ((null != source) && (!(source instanceof String) || ((String) source).isEmpty())) {
+        promise.reject(reactContext.getString(R.string.invalid_sound_source, entry.getKey()));
+        return;
+      }
+      sources.put(sound, (String) source);
+    }
+    getMediaPlayerManager().setSounds(sources);
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void voice_getDiagnosticLogs(Promise promise) {
+    promise.resolve(SDKLog.getDiagnosticLogs());
+  }
+
+  @ReactMethod
+  public void voice_getMetrics(Promise promise) {
+    WritableMap metrics = getVoiceMetrics().getSnapshot();
+    metrics.putMap(MetricsBridgeTraffic, getJSEventEmitter().getTrafficSnapshot());
+    promise.resolve(metrics);
+  }
+
+  @ReactMethod
+  public void voice_resetMetrics(Promise promise) {
+    getVoiceMetrics().reset();
+    getJSEventEmitter().resetTraffic();
+    promise.resolve(null);
+  }
+
+  /**
+   * Periodically log a summary of the events sent to the JS layer.
+   * @param intervalSeconds the summary interval, 0 to stop logging summaries
+   */
+  @ReactMethod
+  public void voice_setEventSummaryInterval(int intervalSeconds, Promise promise) {
+    getJSEventEmitter().setTrafficSummaryInterval(intervalSeconds * 1000L);
     promise.resolve(null);
   }
 
@@ -380,13 +542,13 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_getState(String uuid, Promise promise) {
     logger.debug(".call_getState()");
 
-    mainHandler.post(() -> {
+    dispatch("call_getState", promise, timedPromise -> {
       logger.debug(".call_getState() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
-        promise.resolve(callRecord.getVoiceCall().getState().toString().toLowerCase());
+        timedPromise.resolve(callRecord.getVoiceCall().getState().toString().toLowerCase());
       }
     });
   }
@@ -395,13 +557,13 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_isMuted(String uuid, Promise promise) {
     logger.debug(".call_isMuted()");
 
-    mainHandler.post(() -> {
+    dispatch("call_isMuted", promise, timedPromise -> {
       logger.debug(".call_isMuted() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
-        promise.resolve(callRecord.getVoiceCall().isMuted());
+        timedPromise.resolve(callRecord.getVoiceCall().isMuted());
       }
     });
   }
@@ -410,13 +572,13 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_isOnHold(String uuid, Promise promise) {
     logger.debug(".call_isOnHold()");
 
-    mainHandler.post(() -> {
+    dispatch("call_isOnHold", promise, timedPromise -> {
       logger.debug(".call_isOnHold() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
-        promise.resolve(callRecord.getVoiceCall().isOnHold());
+        timedPromise.resolve(callRecord.getVoiceCall().isOnHold());
       }
     });
   }
@@ -425,15 +587,15 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_disconnect(String uuid, Promise promise) {
     logger.debug(".call_disconnect()");
 
-    mainHandler.post(() -> {
+    dispatch("call_disconnect", promise, timedPromise -> {
       logger.debug(".call_disconnect() > runnable");
 
       final CallRecordDatabase.CallRecord callRecord =
-        validateCallRecord(UUID.fromString(uuid), promise);
+        validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
         getVoiceServiceApi().disconnect(callRecord);
-        promise.resolve(uuid);
+        timedPromise.resolve(uuid);
       }
     });
   }
@@ -442,14 +604,14 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_hold(String uuid, boolean hold, Promise promise) {
     logger.debug(".call_hold()");
 
-    mainHandler.post(() -> {
+    dispatch("call_hold", promise, timedPromise -> {
       logger.debug(".call_hold() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
         callRecord.getVoiceCall().hold(hold);
-        promise.resolve(callRecord.getVoiceCall().isOnHold());
+        timedPromise.resolve(callRecord.getVoiceCall().isOnHold());
       }
     });
   }
@@ -458,14 +620,14 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_mute(String uuid, boolean mute, Promise promise) {
     logger.debug(".call_mute()");
 
-    mainHandler.post(() -> {
+    dispatch("call_mute", promise, timedPromise -> {
       logger.debug(".call_mute() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
         callRecord.getVoiceCall().mute(mute);
-        promise.resolve(callRecord.getVoiceCall().isMuted());
+        timedPromise.resolve(callRecord.getVoiceCall().isMuted());
       }
     });
   }
@@ -474,14 +636,17 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_sendDigits(String uuid, String digits, Promise promise) {
     logger.debug(".call_sendDigits()");
 
-    mainHandler.post(() -> {
+    // local feedback does not wait for the main thread, and only plays for connected calls
+    getDtmfTonePlayer().play(UUID.fromString(uuid), digits);
+
+    dispatch("call_sendDigits", promise, timedPromise -> {
       logger.debug(".call_sendDigits() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
         callRecord.getVoiceCall().sendDigits(digits);
-        promise.resolve(uuid);
+        timedPromise.resolve(uuid);
       }
     });
   }
@@ -490,10 +655,10 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_postFeedback(String uuid, String score, String issue, Promise promise) {
     logger.debug(".call_postFeedback()");
 
-    mainHandler.post(() -> {
+    dispatch("call_postFeedback", promise, timedPromise -> {
       logger.debug(".call_postFeedback() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
         Call.Score parsedScore = getScoreFromString(score);
@@ -501,7 +666,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
 
         callRecord.getVoiceCall().postFeedback(parsedScore, parsedIssue);
 
-        promise.resolve(uuid);
+        timedPromise.resolve(uuid);
       }
     });
   }
@@ -511,13 +676,35 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_getStats(String uuid, Promise promise) {
     logger.debug(".call_getStats()");
 
-    mainHandler.post(() -> {
+    dispatch("call_getStats", promise, timedPromise -> {
       logger.debug(".call_getStats() > runnable");
 
-      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
-        callRecord.getVoiceCall().getStats(new StatsListenerProxy(uuid, reactContext, promise));
+        callRecord.getVoiceCall().getStats(new StatsListenerProxy(
+          uuid, reactContext, timedPromise, callRecord.getIceStatsFingerprint(), false));
+      }
+    });
+  }
+
+  /**
+   * Get the stats of a call, only including the ICE candidates and candidate pairs that were
+   * added or changed state since the previous report for the call, as well as the ids of those
+   * that were removed. Use `call_getStats` to get a full report.
+   */
+  @ReactMethod
+  public void call_getStatsDelta(String uuid, Promise promise) {
+    logger.debug(".call_getStatsDelta()");
+
+    dispatch("call_getStatsDelta", promise, timedPromise -> {
+      logger.debug(".call_getStatsDelta() > runnable");
+
+      final CallRecord callRecord = validateCallRecord(UUID.fromString(uuid), timedPromise);
+
+      if (null != callRecord) {
+        callRecord.getVoiceCall().getStats(new StatsListenerProxy(
+          uuid, reactContext, timedPromise, callRecord.getIceStatsFingerprint(), true));
       }
     });
   }
@@ -526,7 +713,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void call_sendMessage(String uuid, String content, String contentType, String messageType, Promise promise) {
     logger.debug(".call_sendMessage()");
 
-    mainHandler.post(() -> {
+    dispatch("call_sendMessage", promise, timedPromise -> {
       logger.debug(".call_sendMessage() > runnable");
 
       final CallRecord callRecord = getCallRecordDatabase().get(new CallRecord(UUID.fromString(uuid)));
@@ -534,7 +721,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
       final CallMessage callMessage = new CallMessage.Builder(messageType)
         .contentType(contentType).content(content).build();
 
-      promise.resolve((CallRecord.CallInviteState.ACTIVE == callRecord.getCallInviteState())
+      timedPromise.resolve((CallRecord.CallInviteState.ACTIVE == callRecord.getCallInviteState())
         ? callRecord.getCallInvite().sendMessage(callMessage)
         : callRecord.getVoiceCall().sendMessage(callMessage));
     });
@@ -546,7 +733,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void voice_register(String token, Promise promise) {
     logger.debug(".voice_register()");
 
-    mainHandler.post(() -> {
+    dispatch("voice_register", promise, timedPromise -> {
       logger.debug(".voice_register() > runnable");
 
       FirebaseMessaging.getInstance().getToken()
@@ -555,7 +742,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
             final String warningMsg =
               reactContext.getString(R.string.fcm_token_registration_fail, task.getException());
             logger.warning(warningMsg);
-            promise.reject(warningMsg);
+            timedPromise.reject(warningMsg);
             return;
           }
 
@@ -565,13 +752,13 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
           if (fcmToken == null) {
             final String warningMsg = reactContext.getString(R.string.fcm_token_null);
             logger.warning(warningMsg);
-            promise.reject(warningMsg);
+            timedPromise.reject(warningMsg);
             return;
           }
 
           // Log and toast
-          logger.debug("Registering with FCM with token " + fcmToken);
-          RegistrationListener registrationListener = createRegistrationListener(promise);
+          logger.debug("Registering with FCM with token %s", fcmToken);
+          RegistrationListener registrationListener = createRegistrationListener(timedPromise);
           Voice.register(token, Voice.RegistrationChannel.FCM, fcmToken, registrationListener);
         });
     });
@@ -581,7 +768,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   public void voice_unregister(String token, Promise promise) {
     logger.debug(".voice_unregister()");
 
-    mainHandler.post(() -> {
+    dispatch("voice_unregister", promise, timedPromise -> {
       logger.debug(".voice_unregister() > runnable");
 
       FirebaseMessaging.getInstance().getToken()
@@ -590,7 +777,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
             final String warningMsg =
               reactContext.getString(R.string.fcm_token_registration_fail, task.getException());
             logger.warning(warningMsg);
-            promise.reject(warningMsg);
+            timedPromise.reject(warningMsg);
             return;
           }
 
@@ -600,13 +787,13 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
           if (fcmToken == null) {
             final String warningMsg = reactContext.getString(R.string.fcm_token_null);
             logger.warning(warningMsg);
-            promise.reject(warningMsg);
+            timedPromise.reject(warningMsg);
             return;
           }
 
           // Log and toast
-          logger.debug("Registering with FCM with token " + fcmToken);
-          UnregistrationListener unregistrationListener = createUnregistrationListener(promise);
+          logger.debug("Registering with FCM with token %s", fcmToken);
+          UnregistrationListener unregistrationListener = createUnregistrationListener(timedPromise);
           Voice.unregister(token, Voice.RegistrationChannel.FCM, fcmToken, unregistrationListener);
         });
     });
@@ -615,14 +802,14 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
   @ReactMethod void voice_handleEvent(ReadableMap messageData, Promise promise) {
     logger.debug(".voice_handleEvent()");
 
-    mainHandler.post(() -> {
+    dispatch("voice_handleEvent", promise, timedPromise -> {
       logger.debug(".voice_handleEvent() > runnable");
 
       // validate embedded firebase module is disabled
       if (ConfigurationProperties.isFirebaseServiceEnabled(reactContext)) {
         final String errorMsg = reactContext.getString(R.string.method_invocation_invalid);
         logger.warning("Embedded firebase messaging enabled, handleEvent invocation invalid!");
-        promise.reject(errorMsg);
+        timedPromise.reject(errorMsg);
         return;
       }
       // parse data to string map
@@ -638,9 +825,9 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
         parsedMessageData,
         new VoiceFirebaseMessagingService.MessageHandler(),
         new CallMessageListenerProxy())) {
-        promise.resolve(true);
+        timedPromise.resolve(true);
       } else {
-        promise.resolve(false);
+        timedPromise.resolve(false);
       }
     });
   }
@@ -649,23 +836,23 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
 
   @ReactMethod
   public void callInvite_accept(String callInviteUuid, ReadableMap options, Promise promise) {
-    logger.debug("callInvite_accept uuid" + callInviteUuid);
+    logger.debug("callInvite_accept uuid %s", callInviteUuid);
 
-    mainHandler.post(() -> {
+    dispatch("callInvite_accept", promise, timedPromise -> {
       logger.debug(".callInvite_accept() > runnable");
 
       final CallRecord callRecord =
-        validateCallInviteRecord(UUID.fromString(callInviteUuid), promise);
+        validateCallInviteRecord(UUID.fromString(callInviteUuid), timedPromise);
 
       if (null != callRecord) {
         // Store promise for callback
-        callRecord.setCallAcceptedPromise(promise);
+        callRecord.setCallAcceptedPromise(timedPromise);
 
         // Send Event to service
         try {
           getVoiceServiceApi().acceptCall(callRecord);
         } catch (SecurityException e) {
-          promise.reject(e, serializeError(31401, e.getMessage()));
+          timedPromise.reject(e, serializeError(31401, e.getMessage()));
         }
       }
     });
@@ -673,16 +860,16 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
 
   @ReactMethod
   public void callInvite_reject(String uuid, Promise promise) {
-    logger.debug("callInvite_reject uuid" + uuid);
+    logger.debug("callInvite_reject uuid %s", uuid);
 
-    mainHandler.post(() -> {
+    dispatch("callInvite_reject", promise, timedPromise -> {
       logger.debug(".callInvite_reject() > runnable");
 
-      final CallRecord callRecord = validateCallInviteRecord(UUID.fromString(uuid), promise);
+      final CallRecord callRecord = validateCallInviteRecord(UUID.fromString(uuid), timedPromise);
 
       if (null != callRecord) {
         // Store promise for callback
-        callRecord.setCallRejectedPromise(promise);
+        callRecord.setCallRejectedPromise(timedPromise);
 
         // Send Event to service
         getVoiceServiceApi().rejectCall(callRecord);
@@ -714,6 +901,49 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
       : Call.Issue.NOT_REPORTED;
   }
 
+  /**
+   * Map a Voice SDK log level to an android.util.Log priority.
+   * @param logLevel the Voice SDK log level
+   * @return the minimum android.util.Log priority logged at the given level
+   */
+  private static int getLogPriorityFromLogLevel(LogLevel logLevel) {
+    switch (logLevel) {
+      case ALL:
+      case TRACE:
+        return Log.VERBOSE;
+      case DEBUG:
+        return Log.DEBUG;
+      case INFO:
+        return Log.INFO;
+      case WARNING:
+        return Log.WARN;
+      case ERROR:
+        return Log.ERROR;
+      case FATAL:
+        return Log.ASSERT;
+      default:
+        return Log.ASSERT + 1;
+    }
+  }
+
+  /**
+   * Post a method body to the main thread. The time the body waits in the main thread queue and
+   * the time from starting the body to settling its promise are recorded per method name.
+   * @param method the name of the invoking method
+   * @param promise the promise of the invoking method
+   * @param body the method body, must settle the promise it is passed instead of the original
+   */
+  private void dispatch(@NonNull final String method,
+                        @NonNull final Promise promise,
+                        @NonNull final Consumer<Promise> body) {
+    final long enqueuedTimestamp = System.nanoTime();
+    mainHandler.post(() -> {
+      final long startedTimestamp = System.nanoTime();
+      getVoiceMetrics().recordReactMethodQueueLatency(method, enqueuedTimestamp, startedTimestamp);
+      body.accept(new TimedPromise(promise, method, startedTimestamp));
+    });
+  }
+
   private CallRecord validateCallRecord(@NonNull final UUID uuid,
                                         @NonNull final Promise promise) {
     CallRecord callRecord = getCallRecordDatabase().get(new CallRecord(uuid));
@@ -736,7 +966,7 @@ public class TwilioVoiceReactNativeModule extends ReactContextBaseJavaModule {
     return callRecord;
   }
 
-  private void sendJSEvent(@NonNull WritableMap event) {
+  private void sendJSEvent(@NonNull Supplier<WritableMap> event) {
     getJSEventEmitter().sendEvent(ScopeVoice, event);
   }
 }
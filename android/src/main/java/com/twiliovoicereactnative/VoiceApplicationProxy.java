@@ -4,6 +4,7 @@ import static com.twiliovoicereactnative.CallRecordDatabase.CallRecord;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 
 import android.app.Application;
 import android.content.ComponentName;
@@ -12,16 +13,22 @@ import android.content.Intent;
 import android.content.ServiceConnection;
 import android.os.IBinder;
 
+import androidx.annotation.Nullable;
+
 import com.facebook.react.ReactNativeHost;
 import com.facebook.react.ReactPackage;
 
 public class VoiceApplicationProxy {
   private static final SDKLog logger = new SDKLog(VoiceApplicationProxy.class);
   private static VoiceApplicationProxy instance = null;
+  private static final MetricsSinkDispatcher metricsSinkDispatcher = new MetricsSinkDispatcher();
   private Application context = null;
   private final CallRecordDatabase callRecordDatabase = new CallRecordDatabase();
+  private final VoiceMetrics voiceMetrics = new VoiceMetrics();
   private AudioSwitchManager audioSwitchManager;
+  private AudioSessionManager audioSessionManager;
   private MediaPlayerManager mediaPlayerManager;
+  private DtmfTonePlayer dtmfTonePlayer;
   private JSEventEmitter jsEventEmitter;
   private VoiceService.VoiceServiceAPI voiceServiceApi = null;
   private final ServiceConnection voiceServiceObserver = new ServiceConnection() {
@@ -64,6 +71,8 @@ public class VoiceApplicationProxy {
   }
   public void onCreate() {
     logger.debug("onCreate(..) invoked");
+    // size the in-memory diagnostic log
+    SDKLog.setDiagnosticLogSize(ConfigurationProperties.getDiagnosticLogSizeKb(context));
     // construct JS event engine
     jsEventEmitter = new JSEventEmitter();
     // construct notification channels
@@ -73,39 +82,65 @@ public class VoiceApplicationProxy {
       new Intent(context, VoiceService.class),
       voiceServiceObserver,
       Context.BIND_AUTO_CREATE);
-    // Activate audio engine
+    // Activate audio engine, deferred to first use when lazy audio is enabled
     audioSwitchManager = new AudioSwitchManager(context);
+    audioSessionManager = new AudioSessionManager(audioSwitchManager);
     mediaPlayerManager = new MediaPlayerManager(context);
     audioSwitchManager.start();
+    dtmfTonePlayer = new DtmfTonePlayer(context);
   }
   public void onTerminate() {
     logger.debug("onTerminate(..) invoked");
     // shutdown notificaiton channels
     NotificationUtility.destroyNotificationChannels(context);
+    // verify that no audio session holders are leaked
+    for (UUID uuid: audioSessionManager.getHolders()) {
+      logger.warning("Audio session holder leaked: { uuid: %s }", uuid);
+    }
     // shutdown audioswitch & media manager
     audioSwitchManager.stop();
+    mediaPlayerManager.release();
+    dtmfTonePlayer.release();
     // verify that no call records are leaked
     for (CallRecord callRecord: callRecordDatabase.getCollection()) {
       logger.warning(
-        String.format(
-          "Call Record leaked: { uuid: %s callSid: %s }",
-          (null != callRecord.getUuid()) ? callRecord.getUuid() : "null",
-          (null != callRecord.getCallSid()) ? callRecord.getCallSid() : "null"));
+        "Call Record leaked: { uuid: %s callSid: %s }",
+        callRecord.getUuid(),
+        callRecord.getCallSid());
     }
     callRecordDatabase.clear();
   }
+  /**
+   * Register a sink to receive the metrics recorded by the native module.
+   * @param sink the sink, or null to stop recording metrics
+   */
+  public void setMetricsSink(@Nullable VoiceMetricsSink sink) {
+    metricsSinkDispatcher.setSink(sink);
+  }
   static CallRecordDatabase getCallRecordDatabase() {
     return VoiceApplicationProxy.instance.callRecordDatabase;
   }
   static AudioSwitchManager getAudioSwitchManager() {
     return VoiceApplicationProxy.instance.audioSwitchManager;
   }
+  static AudioSessionManager getAudioSessionManager() {
+    return VoiceApplicationProxy.instance.audioSessionManager;
+  }
   static MediaPlayerManager getMediaPlayerManager() {
     return VoiceApplicationProxy.instance.mediaPlayerManager;
   }
+  static DtmfTonePlayer getDtmfTonePlayer() {
+    return VoiceApplicationProxy.instance.dtmfTonePlayer;
+  }
   static JSEventEmitter getJSEventEmitter() {
     return VoiceApplicationProxy.instance.jsEventEmitter;
   }
+  static VoiceMetrics getVoiceMetrics() {
+    return VoiceApplicationProxy.instance.voiceMetrics;
+  }
+  static MetricsSinkDispatcher getMetricsSinkDispatcher() {
+    return VoiceApplicationProxy.metricsSinkDispatcher;
+  }
 
   static Context getApplicationContext() {
     return VoiceApplicationProxy.instance.context;
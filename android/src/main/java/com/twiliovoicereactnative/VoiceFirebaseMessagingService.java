@@ -24,11 +24,27 @@ public class VoiceFirebaseMessagingService extends FirebaseMessagingService {
   private static final SDKLog logger = new SDKLog(VoiceFirebaseMessagingService.class);
 
   public static class MessageHandler implements MessageListener  {
+    private final long messageReceivedTimestamp;
+
+    public MessageHandler() {
+      this(System.nanoTime());
+    }
+
+    /**
+     * @param messageReceivedTimestamp {@link System#nanoTime()} at which the push message arrived
+     */
+    public MessageHandler(long messageReceivedTimestamp) {
+      this.messageReceivedTimestamp = messageReceivedTimestamp;
+    }
+
     @Override
     public void onCallInvite(@NonNull CallInvite callInvite) {
-      logger.log(String.format("onCallInvite %s", callInvite.getCallSid()));
+      logger.log("onCallInvite %s", callInvite.getCallSid());
 
       final CallRecord callRecord = new CallRecord(UUID.randomUUID(), callInvite);
+      callRecord.getLatencyTrace().mark(
+        CallLatencyTrace.Stage.PUSH_RECEIVED, messageReceivedTimestamp);
+      callRecord.getLatencyTrace().mark(CallLatencyTrace.Stage.INVITE_RECEIVED);
 
       getCallRecordDatabase().add(callRecord);
       getVoiceServiceApi().incomingCall(callRecord);
@@ -37,7 +53,7 @@ public class VoiceFirebaseMessagingService extends FirebaseMessagingService {
     @Override
     public void onCancelledCallInvite(@NonNull CancelledCallInvite cancelledCallInvite,
                                       @Nullable CallException callException) {
-      logger.log(String.format("onCancelledCallInvite %s", cancelledCallInvite.getCallSid()));
+      logger.log("onCancelledCallInvite %s", cancelledCallInvite.getCallSid());
 
       CallRecord callRecord = Objects.requireNonNull(
         getCallRecordDatabase().remove(new CallRecord(cancelledCallInvite.getCallSid())));
@@ -50,7 +66,7 @@ public class VoiceFirebaseMessagingService extends FirebaseMessagingService {
 
   @Override
   public void onNewToken(@NonNull String token) {
-    logger.log("Refreshed FCM token: " + token);
+    logger.log("Refreshed FCM token: %s", token);
   }
 
   /**
@@ -60,9 +76,10 @@ public class VoiceFirebaseMessagingService extends FirebaseMessagingService {
    */
   @Override
   public void onMessageReceived(RemoteMessage remoteMessage) {
-    logger.debug("onMessageReceived remoteMessage: " + remoteMessage.toString());
-    logger.debug("Bundle data: " + remoteMessage.getData());
-    logger.debug("From: " + remoteMessage.getFrom());
+    final long messageReceivedTimestamp = System.nanoTime();
+    logger.debug("onMessageReceived remoteMessage: %s", remoteMessage);
+    logger.debug("Bundle data: %s", remoteMessage.getData());
+    logger.debug("From: %s", remoteMessage.getFrom());
 
     PowerManager pm = (PowerManager)getSystemService(POWER_SERVICE);
     boolean isScreenOn = pm.isInteractive(); // check if screen is on
@@ -78,9 +95,9 @@ public class VoiceFirebaseMessagingService extends FirebaseMessagingService {
       if (!Voice.handleMessage(
         this,
         remoteMessage.getData(),
-        new MessageHandler(),
+        new MessageHandler(messageReceivedTimestamp),
         new CallMessageListenerProxy())) {
-        logger.error("The message was not a valid Twilio Voice SDK payload: " +
+        logger.error("The message was not a valid Twilio Voice SDK payload: %s",
           remoteMessage.getData());
       }
     }
@@ -0,0 +1,209 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.CommonConstants.MetricsCallSetupLatency;
+import static com.twiliovoicereactnative.CommonConstants.MetricsIncomingCallLatency;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyCount;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyExecution;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyIncoming;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyMax;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyMean;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyOutgoing;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyP50;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyP95;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyP99;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyQueue;
+import static com.twiliovoicereactnative.CommonConstants.MetricsKeyToneEngine;
+import static com.twiliovoicereactnative.CommonConstants.MetricsReactMethodLatency;
+import static com.twiliovoicereactnative.CommonConstants.MetricsSoundLatency;
+import static com.twiliovoicereactnative.JSEventEmitter.constructJSMap;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getMetricsSinkDispatcher;
+
+import android.util.Pair;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide latency metrics of the module, aggregated into {@link LatencyHistogram}s so that
+ * percentiles are available without keeping per-call samples around.
+ */
+class VoiceMetrics {
+  private static final SDKLog logger = new SDKLog(VoiceMetrics.class);
+  private static final long MAIN_THREAD_QUEUE_WARNING_MICROS = 250_000L;
+  private final LatencyHistogram[] incomingCallHops =
+    new LatencyHistogram[CallLatencyTrace.IncomingHop.values().length];
+  private final LatencyHistogram[] callSetupHops =
+    new LatencyHistogram[CallLatencyTrace.SetupHop.values().length];
+  private final Map<String, MethodLatency> reactMethodLatency = new ConcurrentHashMap<>();
+  private final LatencyHistogram toneEngineLatency = new LatencyHistogram();
+
+  private static class MethodLatency {
+    final LatencyHistogram queue = new LatencyHistogram();
+    final LatencyHistogram execution = new LatencyHistogram();
+  }
+
+  VoiceMetrics() {
+    for (int i = 0; i < incomingCallHops.length; ++i) {
+      incomingCallHops[i] = new LatencyHistogram();
+    }
+    for (int i = 0; i < callSetupHops.length; ++i) {
+      callSetupHops[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Aggregate the hops of a connected call. Hops with a missing stage are skipped.
+   * @param incoming true if the call is an incoming call
+   * @param trace the latency trace of the call
+   */
+  void recordConnectedCall(boolean incoming, @NonNull CallLatencyTrace trace) {
+    if (incoming) {
+      for (CallLatencyTrace.IncomingHop hop: CallLatencyTrace.IncomingHop.values()) {
+        final long interval = trace.getIntervalMicros(hop.from, hop.to);
+        if (interval >= 0) {
+          incomingCallHops[hop.ordinal()].record(interval);
+        }
+      }
+    }
+    for (CallLatencyTrace.SetupHop hop: CallLatencyTrace.SetupHop.values()) {
+      if (hop.incoming == incoming) {
+        final long interval = trace.getIntervalMicros(hop.from, hop.to);
+        if (interval >= 0) {
+          callSetupHops[hop.ordinal()].record(interval);
+          getMetricsSinkDispatcher().timer(
+            incoming ? VoiceMetricsSink.INCOMING_CALL_SETUP : VoiceMetricsSink.OUTGOING_CALL_SETUP,
+            hop.key,
+            interval);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reset all metrics.
+   */
+  void reset() {
+    for (LatencyHistogram histogram: incomingCallHops) {
+      histogram.reset();
+    }
+    for (LatencyHistogram histogram: callSetupHops) {
+      histogram.reset();
+    }
+    reactMethodLatency.clear();
+    toneEngineLatency.reset();
+  }
+
+  /**
+   * Record the start latency of a call sound played through the tone engine, from play to the
+   * first frame being presented. SoundPool does not expose presentation timestamps, so the
+   * latency of its sounds is not recorded.
+   * @param micros the latency in microseconds
+   */
+  void recordSoundLatency(long micros) {
+    toneEngineLatency.record(micros);
+  }
+
+  /**
+   * Record how long a native method waited in the main thread queue before starting.
+   * @param method the name of the native method
+   * @param enqueuedTimestamp {@link System#nanoTime()} at which the method was posted
+   * @param startedTimestamp {@link System#nanoTime()} at which the method started
+   */
+  void recordReactMethodQueueLatency(@NonNull String method,
+                                     long enqueuedTimestamp,
+                                     long startedTimestamp) {
+    final long interval = (startedTimestamp - enqueuedTimestamp) / 1000L;
+    getMethodLatency(method).queue.record(interval);
+    if (interval >= MAIN_THREAD_QUEUE_WARNING_MICROS) {
+      logger.warning("%s waited %d ms for the main thread", method, interval / 1000L);
+    }
+  }
+
+  /**
+   * Record how long a native method took from starting to settling its promise.
+   * @param method the name of the native method
+   * @param startedTimestamp {@link System#nanoTime()} at which the method started
+   * @param settledTimestamp {@link System#nanoTime()} at which the promise was settled
+   */
+  void recordReactMethodExecutionLatency(@NonNull String method,
+                                         long startedTimestamp,
+                                         long settledTimestamp) {
+    getMethodLatency(method).execution.recordNanos(startedTimestamp, settledTimestamp);
+  }
+
+  /**
+   * @return a snapshot of all metrics, suitable to pass to the JS layer
+   */
+  @NonNull
+  WritableMap getSnapshot() {
+    WritableMap incomingCallLatency = Arguments.createMap();
+    for (CallLatencyTrace.IncomingHop hop: CallLatencyTrace.IncomingHop.values()) {
+      incomingCallLatency.putMap(
+        hop.key,
+        serializeHistogram(incomingCallHops[hop.ordinal()].snapshot()));
+    }
+    WritableMap incomingCallSetup = Arguments.createMap();
+    WritableMap outgoingCallSetup = Arguments.createMap();
+    for (CallLatencyTrace.SetupHop hop: CallLatencyTrace.SetupHop.values()) {
+      (hop.incoming ? incomingCallSetup : outgoingCallSetup).putMap(
+        hop.key,
+        serializeHistogram(callSetupHops[hop.ordinal()].snapshot()));
+    }
+    WritableMap methodLatency = Arguments.createMap();
+    for (Map.Entry<String, MethodLatency> entry: reactMethodLatency.entrySet()) {
+      final MethodLatency latency = entry.getValue();
+      methodLatency.putMap(entry.getKey(), constructJSMap(
+        new Pair<>(MetricsKeyQueue, serializeHistogram(latency.queue.snapshot())),
+        new Pair<>(MetricsKeyExecution, serializeHistogram(latency.execution.snapshot()))));
+    }
+    return constructJSMap(
+      new Pair<>(MetricsIncomingCallLatency, incomingCallLatency),
+      new Pair<>(MetricsCallSetupLatency, constructJSMap(
+        new Pair<>(MetricsKeyIncoming, incomingCallSetup),
+        new Pair<>(MetricsKeyOutgoing, outgoingCallSetup))),
+      new Pair<>(MetricsReactMethodLatency, methodLatency),
+      new Pair<>(MetricsSoundLatency, constructJSMap(
+        new Pair<>(MetricsKeyToneEngine, serializeHistogram(toneEngineLatency.snapshot())))));
+  }
+
+  /**
+   * @param trace the latency trace of an incoming call
+   * @return the hops of the call in milliseconds, hops with a missing stage are omitted
+   */
+  @NonNull
+  static WritableMap serializeIncomingCallLatency(@NonNull CallLatencyTrace trace) {
+    WritableMap breakdown = Arguments.createMap();
+    for (CallLatencyTrace.IncomingHop hop: CallLatencyTrace.IncomingHop.values()) {
+      final long interval = trace.getIntervalMicros(hop.from, hop.to);
+      if (interval >= 0) {
+        breakdown.putDouble(hop.key, interval / 1000.0);
+      }
+    }
+    return breakdown;
+  }
+
+  @NonNull
+  private MethodLatency getMethodLatency(@NonNull String method) {
+    MethodLatency latency = reactMethodLatency.get(method);
+    if (null == latency) {
+      latency = reactMethodLatency.computeIfAbsent(method, key -> new MethodLatency());
+    }
+    return latency;
+  }
+
+  @NonNull
+  static WritableMap serializeHistogram(@NonNull LatencyHistogram.Snapshot snapshot) {
+    return constructJSMap(
+      new Pair<>(MetricsKeyCount, snapshot.getCount()),
+      new Pair<>(MetricsKeyMean, snapshot.getMeanMillis()),
+      new Pair<>(MetricsKeyP50, snapshot.getPercentileMillis(50)),
+      new Pair<>(MetricsKeyP95, snapshot.getPercentileMillis(95)),
+      new Pair<>(MetricsKeyP99, snapshot.getPercentileMillis(99)),
+      new Pair<>(MetricsKeyMax, snapshot.getMaxMillis()));
+  }
+}
@@ -0,0 +1,92 @@
+package com.twiliovoicereactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Receives the metrics recorded by the native module, so that they can be forwarded to an
+ * application performance monitoring service without going through the JS layer.
+ * <p>
+ * A sink is registered with {@link VoiceApplicationProxy#setMetricsSink(VoiceMetricsSink)}.
+ * Metrics are delivered in batches on a dedicated background thread, never on the thread that
+ * recorded them. When no sink is registered, nothing is recorded.
+ * <pre>
+ *   voiceApplicationProxy.setMetricsSink(metrics -> {
+ *     for (VoiceMetricsSink.Metric metric: metrics) {
+ *       myApm.record(metric.name, metric.tag, metric.value);
+ *     }
+ *   });
+ * </pre>
+ */
+public interface VoiceMetricsSink {
+  /**
+   * Gauge, the number of call records currently held by the module.
+   */
+  String CALL_RECORDS_ALIVE = "callRecords.alive";
+  /**
+   * Gauge, the number of calls holding the audio session.
+   */
+  String AUDIO_SESSION_HOLDERS = "audioSession.holders";
+  /**
+   * Counter, events sent to the JS layer. Tagged with the event scope.
+   */
+  String EVENTS_EMITTED = "events.emitted";
+  /**
+   * Counter, events dropped because the JS layer was not active. Tagged with the event scope.
+   */
+  String EVENTS_DROPPED = "events.dropped";
+  /**
+   * Timer, from requesting the stats of a call to the serialized stats being resolved.
+   */
+  String STATS_SAMPLE_DURATION = "stats.sampleDuration";
+  /**
+   * Timer, setup latency of incoming calls. Tagged with the setup hop.
+   */
+  String INCOMING_CALL_SETUP = "callSetup.incoming";
+  /**
+   * Timer, setup latency of outgoing calls. Tagged with the setup hop.
+   */
+  String OUTGOING_CALL_SETUP = "callSetup.outgoing";
+
+  enum Type {
+    COUNTER,
+    GAUGE,
+    TIMER
+  }
+
+  /**
+   * A single recorded metric.
+   */
+  final class Metric {
+    /** The kind of metric. */
+    @NonNull public final Type type;
+    /** The name of the metric, one of the constants of {@link VoiceMetricsSink}. */
+    @NonNull public final String name;
+    /** An optional qualifier of the metric, e.g. the scope of an event. */
+    @Nullable public final String tag;
+    /** The counter increment, the gauge value or the timer duration in milliseconds. */
+    public final double value;
+    /** Wall-clock time at which the metric was recorded, in milliseconds since epoch. */
+    public final long timestamp;
+
+    Metric(@NonNull Type type,
+           @NonNull String name,
+           @Nullable String tag,
+           double value,
+           long timestamp) {
+      this.type = type;
+      this.name = name;
+      this.tag = tag;
+      this.value = value;
+      this.timestamp = timestamp;
+    }
+  }
+
+  /**
+   * Invoked on a background thread with the metrics recorded since the previous invocation.
+   * @param metrics the recorded metrics, oldest first
+   */
+  void onMetrics(@NonNull List<Metric> metrics);
+}
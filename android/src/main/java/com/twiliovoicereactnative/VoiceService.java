@@ -60,6 +60,7 @@ import com.twilio.voice.Voice;
 
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 public class VoiceService extends Service {
   private static final SDKLog logger = new SDKLog(VoiceService.class);
@@ -167,7 +168,13 @@ public class VoiceService extends Service {
     }
   }
   private void incomingCall(final CallRecordDatabase.CallRecord callRecord) {
-    logger.debug("incomingCall: " + callRecord.getUuid());
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("VoiceService.incomingCall")) {
+      incomingCallInternal(callRecord);
+    }
+  }
+  private void incomingCallInternal(final CallRecordDatabase.CallRecord callRecord) {
+    logger.debug("incomingCall: %s", callRecord.getUuid());
+    VoiceTrace.beginAsyncSection(VoiceTrace.ASYNC_CALL_INVITE, callRecord.getUuid());
 
     // verify that mic permissions have been granted and if not, throw a error
     if ((Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) &&
@@ -189,22 +196,32 @@ public class VoiceService extends Service {
       callRecord,
       VOICE_CHANNEL_HIGH_IMPORTANCE);
     createOrReplaceNotification(callRecord.getNotificationId(), notification);
-
-
+    callRecord.getLatencyTrace().mark(CallLatencyTrace.Stage.NOTIFICATION_POSTED);
 
     // play ringer sound
-    VoiceApplicationProxy.getAudioSwitchManager().getAudioSwitch().activate();
-    VoiceApplicationProxy.getMediaPlayerManager().play(MediaPlayerManager.SoundTable.INCOMING);
+    VoiceApplicationProxy.getAudioSessionManager().acquire(callRecord.getUuid());
+    VoiceApplicationProxy.getMediaPlayerManager().play(
+      callRecord.getUuid(), MediaPlayerManager.SoundTable.INCOMING);
 
-    // trigger JS layer
-    sendJSEvent(
+    // trigger JS layer, the event is dropped when started from a push with no JS layer yet
+    if (sendJSEvent(
       ScopeVoice,
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(VoiceEventType, VoiceEventTypeValueIncomingCallInvite),
-        new Pair<>(JS_EVENT_KEY_CALL_INVITE_INFO, serializeCallInvite(callRecord))));
+        new Pair<>(JS_EVENT_KEY_CALL_INVITE_INFO, serializeCallInvite(callRecord))))) {
+      callRecord.getLatencyTrace().mark(CallLatencyTrace.Stage.EVENT_EMITTED);
+    }
   }
   private void acceptCall(final CallRecordDatabase.CallRecord callRecord) {
-    logger.debug("acceptCall: " + callRecord.getUuid());
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("VoiceService.acceptCall")) {
+      acceptCallInternal(callRecord);
+    }
+  }
+  private void acceptCallInternal(final CallRecordDatabase.CallRecord callRecord) {
+    logger.debug("acceptCall: %s", callRecord.getUuid());
+    VoiceTrace.endAsyncSection(VoiceTrace.ASYNC_CALL_INVITE, callRecord.getUuid());
+    VoiceTrace.beginAsyncSection(VoiceTrace.ASYNC_CALL_CONNECT, callRecord.getUuid());
+    callRecord.getLatencyTrace().mark(CallLatencyTrace.Stage.ACCEPT_INVOKED);
 
     // verify that mic permissions have been granted and if not, throw a error
     if (ActivityCompat.checkSelfPermission(VoiceService.this,
@@ -213,8 +230,8 @@ public class VoiceService extends Service {
       removeNotification(callRecord.getNotificationId());
 
       // stop ringer sound
-      VoiceApplicationProxy.getMediaPlayerManager().stop();
-      VoiceApplicationProxy.getAudioSwitchManager().getAudioSwitch().deactivate();
+      VoiceApplicationProxy.getMediaPlayerManager().stop(callRecord.getUuid());
+      VoiceApplicationProxy.getAudioSessionManager().release(callRecord.getUuid());
 
       // report an error to JS layer
       sendPermissionsError();
@@ -231,7 +248,7 @@ public class VoiceService extends Service {
     createOrReplaceForegroundNotification(callRecord.getNotificationId(), notification);
 
     // stop ringer sound
-    VoiceApplicationProxy.getMediaPlayerManager().stop();
+    VoiceApplicationProxy.getMediaPlayerManager().stop(callRecord.getUuid());
 
     // accept call
     AcceptOptions acceptOptions = new AcceptOptions.Builder()
@@ -254,13 +271,19 @@ public class VoiceService extends Service {
     // notify JS layer
     sendJSEvent(
       ScopeCallInvite,
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(CallInviteEventKeyType, CallInviteEventTypeValueAccepted),
         new Pair<>(CallInviteEventKeyCallSid, callRecord.getCallSid()),
         new Pair<>(JS_EVENT_KEY_CALL_INVITE_INFO, serializeCallInvite(callRecord))));
   }
   private void rejectCall(final CallRecordDatabase.CallRecord callRecord) {
-    logger.debug("rejectCall: " + callRecord.getUuid());
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("VoiceService.rejectCall")) {
+      rejectCallInternal(callRecord);
+    }
+  }
+  private void rejectCallInternal(final CallRecordDatabase.CallRecord callRecord) {
+    logger.debug("rejectCall: %s", callRecord.getUuid());
+    VoiceTrace.endAsyncSection(VoiceTrace.ASYNC_CALL_INVITE, callRecord.getUuid());
 
     // remove call record
     getCallRecordDatabase().remove(callRecord);
@@ -269,8 +292,8 @@ public class VoiceService extends Service {
     removeNotification(callRecord.getNotificationId());
 
     // stop ringer sound
-    VoiceApplicationProxy.getMediaPlayerManager().stop();
-    VoiceApplicationProxy.getAudioSwitchManager().getAudioSwitch().deactivate();
+    VoiceApplicationProxy.getMediaPlayerManager().stop(callRecord.getUuid());
+    VoiceApplicationProxy.getAudioSessionManager().release(callRecord.getUuid());
 
     // reject call
     callRecord.getCallInvite().reject(VoiceService.this);
@@ -284,32 +307,38 @@ public class VoiceService extends Service {
     // notify JS layer
     sendJSEvent(
       ScopeCallInvite,
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(CallInviteEventKeyType, CallInviteEventTypeValueRejected),
         new Pair<>(CallInviteEventKeyCallSid, callRecord.getCallSid()),
         new Pair<>(JS_EVENT_KEY_CALL_INVITE_INFO, serializeCallInvite(callRecord))));
   }
   private void cancelCall(final CallRecordDatabase.CallRecord callRecord) {
-    logger.debug("CancelCall: " + callRecord.getUuid());
+    try (VoiceTrace.Section ignored = VoiceTrace.beginSection("VoiceService.cancelCall")) {
+      cancelCallInternal(callRecord);
+    }
+  }
+  private void cancelCallInternal(final CallRecordDatabase.CallRecord callRecord) {
+    logger.debug("CancelCall: %s", callRecord.getUuid());
+    VoiceTrace.endAsyncSection(VoiceTrace.ASYNC_CALL_INVITE, callRecord.getUuid());
 
     // take down notification
     removeNotification(callRecord.getNotificationId());
 
     // stop ringer sound
-    VoiceApplicationProxy.getMediaPlayerManager().stop();
-    VoiceApplicationProxy.getAudioSwitchManager().getAudioSwitch().deactivate();
+    VoiceApplicationProxy.getMediaPlayerManager().stop(callRecord.getUuid());
+    VoiceApplicationProxy.getAudioSessionManager().release(callRecord.getUuid());
 
     // notify JS layer
     sendJSEvent(
       ScopeCallInvite,
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(CallInviteEventKeyType, CallInviteEventTypeValueCancelled),
         new Pair<>(CallInviteEventKeyCallSid, callRecord.getCallSid()),
         new Pair<>(JS_EVENT_KEY_CANCELLED_CALL_INVITE_INFO, serializeCancelledCallInvite(callRecord)),
         new Pair<>(VoiceErrorKeyError, serializeCallException(callRecord))));
   }
   private void raiseOutgoingCallNotification(final CallRecordDatabase.CallRecord callRecord) {
-    logger.debug("raiseOutgoingCallNotification: " + callRecord.getUuid());
+    logger.debug("raiseOutgoingCallNotification: %s", callRecord.getUuid());
 
     // put up outgoing call notification
     Notification notification =
@@ -319,7 +348,7 @@ public class VoiceService extends Service {
     createOrReplaceForegroundNotification(callRecord.getNotificationId(), notification);
   }
   private void foregroundAndDeprioritizeIncomingCallNotification(final CallRecordDatabase.CallRecord callRecord) {
-    logger.debug("foregroundAndDeprioritizeIncomingCallNotification: " + callRecord.getUuid());
+    logger.debug("foregroundAndDeprioritizeIncomingCallNotification: %s", callRecord.getUuid());
 
     // cancel existing notification & put up in call
     Notification notification = NotificationUtility.createIncomingCallNotification(
@@ -329,12 +358,12 @@ public class VoiceService extends Service {
     createOrReplaceNotification(callRecord.getNotificationId(), notification);
 
     // stop active sound (if any)
-    VoiceApplicationProxy.getMediaPlayerManager().stop();
+    VoiceApplicationProxy.getMediaPlayerManager().stop(callRecord.getUuid());
 
     // notify JS layer
     sendJSEvent(
       ScopeCallInvite,
-      constructJSMap(
+      () -> constructJSMap(
         new Pair<>(CallInviteEventKeyType, CallInviteEventTypeValueNotificationTapped),
         new Pair<>(CallInviteEventKeyCallSid, callRecord.getCallSid())));
   }
@@ -342,7 +371,7 @@ public class VoiceService extends Service {
     logger.debug("cancelNotification");
     // only take down notification & stop any active sounds if one is active
     if (null != callRecord) {
-      VoiceApplicationProxy.getMediaPlayerManager().stop();
+      VoiceApplicationProxy.getMediaPlayerManager().stop(callRecord.getUuid());
       removeForegroundNotification();
     }
   }
@@ -389,13 +418,13 @@ public class VoiceService extends Service {
   private static CallRecordDatabase.CallRecord getCallRecord(final UUID uuid) {
     return Objects.requireNonNull(getCallRecordDatabase().get(new CallRecordDatabase.CallRecord(uuid)));
   }
-  private static void sendJSEvent(@NonNull String scope, @NonNull WritableMap event) {
-    getJSEventEmitter().sendEvent(scope, event);
+  private static boolean sendJSEvent(@NonNull String scope, @NonNull Supplier<WritableMap> event) {
+    return getJSEventEmitter().sendEvent(scope, event);
   }
   private static void sendPermissionsError() {
     final String errorMessage = "Missing permissions.";
     final int errorCode = 31401;
-    getJSEventEmitter().sendEvent(ScopeVoice, constructJSMap(
+    getJSEventEmitter().sendEvent(ScopeVoice, () -> constructJSMap(
       new Pair<>(VoiceEventType, VoiceEventError),
       new Pair<>(VoiceErrorKeyError, serializeError(errorCode, errorMessage))
     ));
@@ -0,0 +1,82 @@
+package com.twiliovoicereactnative;
+
+import android.os.Build;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+import java.util.UUID;
+
+/**
+ * Runtime-enabled {@link Trace} sections for system traces (Perfetto/systrace). When disabled,
+ * beginning a section is a single volatile read and does not allocate.
+ * <p>
+ * Synchronous sections are used with try-with-resources so they are always closed on the thread
+ * that opened them. A traced method delegates to an untraced one, so that its body is not
+ * re-indented:
+ * <pre>
+ *   private void acceptCall(final CallRecord callRecord) {
+ *     try (VoiceTrace.Section ignored = VoiceTrace.beginSection("VoiceService.acceptCall")) {
+ *       acceptCallInternal(callRecord);
+ *     }
+ *   }
+ * </pre>
+ * Asynchronous sections span threads and callbacks, they are keyed by the UUID of the call.
+ */
+class VoiceTrace {
+  static final String ASYNC_CALL_INVITE = "CallInvite";
+  static final String ASYNC_CALL_CONNECT = "CallConnect";
+
+  interface Section extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final Section NO_OP_SECTION = () -> {};
+  private static final Section TRACE_SECTION = Trace::endSection;
+  private static volatile boolean enabled = false;
+
+  static void setEnabled(boolean enabled) {
+    VoiceTrace.enabled = enabled;
+  }
+
+  static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Begin a synchronous section, to be closed on the same thread.
+   * @param name the name of the section, at most 127 characters
+   * @return the section to close
+   */
+  @NonNull
+  static Section beginSection(@NonNull String name) {
+    if (!enabled) {
+      return NO_OP_SECTION;
+    }
+    Trace.beginSection(name);
+    return TRACE_SECTION;
+  }
+
+  /**
+   * Begin an asynchronous section of a call.
+   * @param name the name of the section
+   * @param uuid the UUID of the call
+   */
+  static void beginAsyncSection(@NonNull String name, @NonNull UUID uuid) {
+    if (enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      Trace.beginAsyncSection(name, uuid.hashCode());
+    }
+  }
+
+  /**
+   * End an asynchronous section of a call, ignored if the section was not begun.
+   * @param name the name of the section
+   * @param uuid the UUID of the call
+   */
+  static void endAsyncSection(@NonNull String name, @NonNull UUID uuid) {
+    if (enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      Trace.endAsyncSection(name, uuid.hashCode());
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native {@link Arguments} in JVM tests and benchmarks. The React Native
+ * implementation creates native maps and arrays, which need the React Native JNI libraries.
+ */
+public class Arguments {
+  public static WritableMap createMap() {
+    return new JavaOnlyMap();
+  }
+
+  public static WritableArray createArray() {
+    return new JavaOnlyArray();
+  }
+}
@@ -0,0 +1,73 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.twilio.audioswitch.AudioSwitch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+public class AudioSessionManagerTest {
+  private final UUID firstCall = UUID.randomUUID();
+  private final UUID secondCall = UUID.randomUUID();
+  private AudioSwitch audioSwitch;
+  private AudioSessionManager audioSessionManager;
+
+  @Before
+  public void setUp() {
+    audioSwitch = mock(AudioSwitch.class);
+    AudioSwitchManager audioSwitchManager = mock(AudioSwitchManager.class);
+    when(audioSwitchManager.getAudioSwitch()).thenReturn(audioSwitch);
+    audioSessionManager = new AudioSessionManager(audioSwitchManager);
+  }
+
+  @Test
+  public void activatesOnFirstHolderAndDeactivatesOnLast() {
+    audioSessionManager.acquire(firstCall);
+    audioSessionManager.acquire(secondCall);
+    verify(audioSwitch, times(1)).activate();
+    audioSessionManager.release(firstCall);
+    verify(audioSwitch, never()).deactivate();
+    assertEquals(1, audioSessionManager.getHolderCount());
+    audioSessionManager.release(secondCall);
+    verify(audioSwitch, times(1)).deactivate();
+    assertEquals(0, audioSessionManager.getHolderCount());
+    assertEquals(1, audioSessionManager.getActivationCount());
+    assertEquals(1, audioSessionManager.getDeactivationCount());
+  }
+
+  @Test
+  public void acquiringTwiceHoldsOnce() {
+    audioSessionManager.acquire(firstCall);
+    audioSessionManager.acquire(firstCall);
+    assertEquals(1, audioSessionManager.getHolderCount());
+    audioSessionManager.release(firstCall);
+    verify(audioSwitch, times(1)).deactivate();
+  }
+
+  @Test
+  public void countsUnmatchedReleases() {
+    audioSessionManager.acquire(firstCall);
+    audioSessionManager.release(secondCall);
+    audioSessionManager.release(firstCall);
+    audioSessionManager.release(firstCall);
+    verify(audioSwitch, times(1)).deactivate();
+    assertEquals(2, audioSessionManager.getUnmatchedReleaseCount());
+  }
+
+  @Test
+  public void reactivatesAfterLastRelease() {
+    audioSessionManager.acquire(firstCall);
+    audioSessionManager.release(firstCall);
+    audioSessionManager.acquire(secondCall);
+    verify(audioSwitch, times(2)).activate();
+    assertEquals(2, audioSessionManager.getActivationCount());
+  }
+}
@@ -0,0 +1,64 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getAudioSessionManager;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Every way a call ends releases the audio session it holds, through {@link VoiceService} or
+ * {@link CallListenerProxy}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AudioSessionTeardownTest {
+  private static final int CALLS = 3;
+  private VoiceLoadHarness harness;
+
+  @Before
+  public void setUp() {
+    harness = new VoiceLoadHarness(1);
+  }
+
+  @After
+  public void tearDown() {
+    harness.close();
+  }
+
+  @Test
+  public void acceptedCallsRelease() {
+    assertReleased(VoiceLoadHarness.Scenario.ACCEPT);
+  }
+
+  @Test
+  public void rejectedCallsRelease() {
+    assertReleased(VoiceLoadHarness.Scenario.REJECT);
+  }
+
+  @Test
+  public void cancelledCallsRelease() {
+    assertReleased(VoiceLoadHarness.Scenario.CANCEL);
+  }
+
+  @Test
+  public void reconnectingCallsRelease() {
+    assertReleased(VoiceLoadHarness.Scenario.RECONNECT);
+  }
+
+  @Test
+  public void outgoingCallsRelease() {
+    assertReleased(VoiceLoadHarness.Scenario.OUTGOING);
+  }
+
+  private void assertReleased(VoiceLoadHarness.Scenario scenario) {
+    final VoiceLoadHarness.Report report = harness.run(scenario, CALLS);
+    final AudioSessionManager audioSessionManager = getAudioSessionManager();
+    assertEquals(report.toString(), 0, audioSessionManager.getHolderCount());
+    assertEquals(audioSessionManager.getActivationCount(),
+      audioSessionManager.getDeactivationCount());
+    assertEquals(0, audioSessionManager.getUnmatchedReleaseCount());
+  }
+}
@@ -0,0 +1,250 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.twilio.audioswitch.AudioDevice;
+import com.twilio.audioswitch.AudioSwitch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import kotlin.Unit;
+import kotlin.jvm.functions.Function2;
+
+@RunWith(RobolectricTestRunner.class)
+public class AudioSwitchManagerTest {
+  private static final long DEBOUNCE_MILLIS = 300;
+  private final AudioDevice earpiece = createAudioDevice(AudioDevice.Earpiece.class, "Earpiece");
+  private final AudioDevice headset =
+    createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset");
+  private final List<AudioSwitchManager.AudioDeviceChange> changes = new ArrayList<>();
+  private Function2<List<? extends AudioDevice>, AudioDevice, Unit> audioSwitchListener;
+  private AudioSwitch audioSwitch;
+  private AudioSwitchManager audioSwitchManager;
+
+  @Before
+  public void setUp() {
+    final AtomicReference<Function2<List<? extends AudioDevice>, AudioDevice, Unit>> listener =
+      new AtomicReference<>(null);
+    try (MockedConstruction<AudioSwitch> constructed = mockAudioSwitch(listener)) {
+      audioSwitchManager = new AudioSwitchManager(RuntimeEnvironment.getApplication());
+      audioSwitchManager.start();
+      audioSwitch = constructed.constructed().get(0);
+    }
+    audioSwitchListener = listener.get();
+    audioSwitchManager.setListener(changes::add);
+  }
+
+  @Test
+  public void coalescesUpdatesUntilSettled() {
+    audioSwitchListener.invoke(List.of(earpiece), earpiece);
+    audioSwitchListener.invoke(List.of(earpiece, headset), headset);
+    audioSwitchListener.invoke(List.of(earpiece), earpiece);
+    assertEquals(1, audioSwitchManager.getAudioDevices().size());
+    idleFor(DEBOUNCE_MILLIS - 1);
+    assertEquals(1, changes.size());
+    idleFor(1);
+    assertEquals(2, changes.size());
+    assertEquals(List.of(earpiece), new ArrayList<>(changes.get(1).added.values()));
+    assertTrue(changes.get(1).selectedDeviceChanged);
+  }
+
+  @Test
+  public void notifiesLossOfSelectedDeviceAtOnce() {
+    audioSwitchListener.invoke(List.of(earpiece, headset), headset);
+    idleFor(DEBOUNCE_MILLIS);
+    assertEquals(2, changes.size());
+    audioSwitchListener.invoke(List.of(earpiece), earpiece);
+    assertEquals(2, changes.size());
+    idleFor(0);
+    assertEquals(3, changes.size());
+    assertEquals(1, changes.get(2).removed.size());
+    assertEquals(earpiece, changes.get(2).selectedDevice);
+  }
+
+  @Test
+  public void boundsTheDelayOfContinualUpdates() {
+    for (int i = 0; i < 6; ++i) {
+      audioSwitchListener.invoke(
+        (0 == i % 2) ? List.of(earpiece, headset) : List.of(earpiece), earpiece);
+      idleFor(DEBOUNCE_MILLIS - 100);
+    }
+    assertEquals(2, changes.size());
+  }
+
+  @Test
+  public void skipsUpdatesThatChangeNothing() {
+    audioSwitchListener.invoke(List.of(earpiece), earpiece);
+    idleFor(DEBOUNCE_MILLIS);
+    audioSwitchListener.invoke(List.of(earpiece, headset), earpiece);
+    audioSwitchListener.invoke(List.of(earpiece), earpiece);
+    idleFor(DEBOUNCE_MILLIS);
+    assertEquals(2, changes.size());
+  }
+
+  @Test
+  public void identifiesDevicesByTypeAndName() {
+    List<String> first = new ArrayList<>(AudioSwitchManager.identifyAudioDevices(List.of(
+      createAudioDevice(AudioDevice.Earpiece.class, "Earpiece"),
+      createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset"))).keySet());
+    List<String> second = new ArrayList<>(AudioSwitchManager.identifyAudioDevices(List.of(
+      createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset"),
+      createAudioDevice(AudioDevice.BluetoothHeadset.class, "Other Headset"),
+      createAudioDevice(AudioDevice.Earpiece.class, "Earpiece"))).keySet());
+    assertEquals(first.get(0), second.get(2));
+    assertEquals(first.get(1), second.get(0));
+    assertNotEquals(second.get(0), second.get(1));
+  }
+
+  @Test
+  public void tellsApartDevicesOfTheSameName() {
+    Map<String, AudioDevice> single = AudioSwitchManager.identifyAudioDevices(List.of(
+      createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset")));
+    Map<String, AudioDevice> pair = AudioSwitchManager.identifyAudioDevices(List.of(
+      createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset"),
+      createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset")));
+    assertEquals(2, pair.size());
+    assertTrue(pair.keySet().containsAll(single.keySet()));
+  }
+
+  @Test
+  public void diffsAddedRemovedAndSelected() {
+    AudioDevice earpiece = createAudioDevice(AudioDevice.Earpiece.class, "Earpiece");
+    AudioDevice speaker = createAudioDevice(AudioDevice.Speakerphone.class, "Speakerphone");
+    AudioDevice headset = createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset");
+    Map<String, AudioDevice> previous =
+      AudioSwitchManager.identifyAudioDevices(List.of(earpiece, speaker));
+    Map<String, AudioDevice> current =
+      AudioSwitchManager.identifyAudioDevices(List.of(speaker, headset));
+    String earpieceUuid = previous.keySet().iterator().next();
+    String headsetUuid = new ArrayList<>(current.keySet()).get(1);
+
+    AudioSwitchManager.AudioDeviceChange change = AudioSwitchManager.AudioDeviceChange.diff(
+      new AudioSwitchManager.AudioDeviceSnapshot(previous, earpieceUuid),
+      new AudioSwitchManager.AudioDeviceSnapshot(current, headsetUuid));
+    assertFalse(change.full);
+    assertFalse(change.isEmpty());
+    assertEquals(Set.of(headsetUuid), change.added.keySet());
+    assertEquals(Set.of(earpieceUuid), change.removed);
+    assertTrue(change.selectedDeviceChanged);
+    assertEquals(current, change.audioDevices);
+    assertEquals(headset, change.selectedDevice);
+  }
+
+  @Test
+  public void unchangedDevicesAreEmpty() {
+    Map<String, AudioDevice> devices = AudioSwitchManager.identifyAudioDevices(List.of(
+      createAudioDevice(AudioDevice.Earpiece.class, "Earpiece")));
+    String uuid = devices.keySet().iterator().next();
+    assertTrue(AudioSwitchManager.AudioDeviceChange.diff(
+      new AudioSwitchManager.AudioDeviceSnapshot(devices, uuid),
+      new AudioSwitchManager.AudioDeviceSnapshot(devices, uuid)).isEmpty());
+    assertFalse(AudioSwitchManager.AudioDeviceChange.full(
+      AudioSwitchManager.AudioDeviceSnapshot.EMPTY).isEmpty());
+  }
+
+  @Test
+  public void publishesImmutableSnapshots() {
+    audioSwitchListener.invoke(List.of(earpiece, headset), headset);
+    AudioSwitchManager.AudioDeviceSnapshot snapshot = audioSwitchManager.getAudioDeviceSnapshot();
+    audioSwitchListener.invoke(List.of(earpiece), earpiece);
+    assertEquals(2, snapshot.audioDevices.size());
+    assertEquals(headset, snapshot.selectedDevice);
+    assertEquals(1, audioSwitchManager.getAudioDevices().size());
+    assertEquals(earpiece, audioSwitchManager.getSelectedAudioDevice());
+  }
+
+  @Test
+  public void selectsAudioDevicesOnTheMainThread() {
+    audioSwitchListener.invoke(List.of(earpiece, headset), earpiece);
+    audioSwitchManager.selectAudioDevice(headset);
+    verify(audioSwitch, never()).selectDevice(headset);
+    idleFor(0);
+    verify(audioSwitch).selectDevice(headset);
+  }
+
+  @Test
+  public void queriesStartLazyAudioAndWaitForTheDevices() {
+    final AtomicReference<Function2<List<? extends AudioDevice>, AudioDevice, Unit>> listener =
+      new AtomicReference<>(null);
+    final List<AudioSwitchManager.AudioDeviceSnapshot> answers = new ArrayList<>();
+    final AudioSwitchManager lazyAudioSwitchManager;
+    try (MockedStatic<ConfigurationProperties> properties =
+           mockStatic(ConfigurationProperties.class);
+         MockedConstruction<AudioSwitch> constructed = mockAudioSwitch(listener)) {
+      properties.when(() -> ConfigurationProperties.isLazyAudioEnabled(any())).thenReturn(true);
+      lazyAudioSwitchManager = new AudioSwitchManager(RuntimeEnvironment.getApplication());
+      lazyAudioSwitchManager.start();
+      lazyAudioSwitchManager.queryAudioDevices(answers::add);
+      assertTrue(constructed.constructed().isEmpty());
+      idleFor(0);
+      assertEquals(1, constructed.constructed().size());
+    }
+    assertTrue(answers.isEmpty());
+    listener.get().invoke(List.of(earpiece, headset), headset);
+    assertEquals(1, answers.size());
+    assertEquals(2, answers.get(0).audioDevices.size());
+    assertEquals(headset, answers.get(0).selectedDevice);
+    lazyAudioSwitchManager.queryAudioDevices(answers::add);
+    idleFor(0);
+    assertEquals(2, answers.size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void audioDevicesAreReadOnly() {
+    audioSwitchListener.invoke(List.of(earpiece), earpiece);
+    audioSwitchManager.getAudioDevices().clear();
+  }
+
+  @NonNull
+  private static MockedConstruction<AudioSwitch> mockAudioSwitch(
+    @NonNull AtomicReference<Function2<List<? extends AudioDevice>, AudioDevice, Unit>> listener) {
+    return mockConstruction(
+      AudioSwitch.class,
+      (audioSwitch, context) -> doAnswer(invocation -> {
+        listener.set(invocation.getArgument(0));
+        return null;
+      }).when(audioSwitch).start(any()));
+  }
+
+  private static void idleFor(long millis) {
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+  }
+
+  @NonNull
+  private static <T extends AudioDevice> AudioDevice createAudioDevice(@NonNull Class<T> type,
+                                                                       @NonNull String name) {
+    final T audioDevice = mock(type, withSettings().stubOnly());
+    when(audioDevice.getName()).thenReturn(name);
+    return audioDevice;
+  }
+}
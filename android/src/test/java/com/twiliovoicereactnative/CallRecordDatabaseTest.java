@@ -0,0 +1,48 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.twilio.voice.Call;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+public class CallRecordDatabaseTest {
+  @Test
+  public void recordsAreFoundByUuidOrCallSid() {
+    CallRecordDatabase database = new CallRecordDatabase();
+    final UUID uuid = UUID.randomUUID();
+    final CallRecordDatabase.CallRecord record = new CallRecordDatabase.CallRecord(
+      uuid,
+      VoiceStandIns.createCall("CA00000000000000000000000000000001", Call.State.CONNECTING),
+      VoiceStandIns.TO,
+      Collections.emptyMap(),
+      CallRecordDatabase.CallRecord.Direction.OUTGOING,
+      null);
+    database.add(record);
+    assertSame(record, database.get(new CallRecordDatabase.CallRecord(uuid)));
+    assertSame(record, database.get(
+      new CallRecordDatabase.CallRecord("CA00000000000000000000000000000001")));
+    assertNull(database.get(new CallRecordDatabase.CallRecord(UUID.randomUUID())));
+  }
+
+  @Test
+  public void removeReturnsTheRemovedRecord() {
+    CallRecordDatabase database = new CallRecordDatabase();
+    final UUID uuid = UUID.randomUUID();
+    final CallRecordDatabase.CallRecord record = new CallRecordDatabase.CallRecord(
+      uuid,
+      VoiceStandIns.createCallInvite("CA00000000000000000000000000000002", Collections.emptyMap()));
+    database.add(record);
+    assertSame(record, database.remove(new CallRecordDatabase.CallRecord(uuid)));
+    assertNull(database.remove(new CallRecordDatabase.CallRecord(uuid)));
+    assertEquals(0, database.getCollection().size());
+  }
+}
@@ -0,0 +1,40 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DiagnosticLogRingTest {
+  @Test
+  public void entriesAreFormattedOldestFirst() {
+    DiagnosticLogRing ring = new DiagnosticLogRing(1);
+    ring.append(1700000000000L, 4, "VoiceService", "first");
+    ring.append(1700000000001L, 6, "CallListenerProxy", "second");
+    assertEquals(
+      "1700000000000 I VoiceService: first\n1700000000001 E CallListenerProxy: second\n",
+      ring.snapshot());
+  }
+
+  @Test
+  public void partiallyOverwrittenEntryIsOmitted() {
+    DiagnosticLogRing ring = new DiagnosticLogRing(1);
+    for (int i = 0; i < 100; ++i) {
+      ring.append(1700000000000L + i, 3, "SDKLog", "entry " + i);
+    }
+    final String snapshot = ring.snapshot();
+    assertTrue(snapshot.length() <= ring.getCapacity());
+    assertTrue(snapshot.startsWith("17"));
+    assertTrue(snapshot.endsWith("D SDKLog: entry 99\n"));
+    assertFalse(snapshot.contains("entry 0\n"));
+  }
+
+  @Test
+  public void clearDiscardsEntries() {
+    DiagnosticLogRing ring = new DiagnosticLogRing(1);
+    ring.append(1700000000000L, 4, "VoiceService", "entry");
+    ring.clear();
+    assertEquals("", ring.snapshot());
+  }
+}
@@ -0,0 +1,57 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DtmfTonePlayerTest {
+  private static final int SAMPLE_RATE = 48000;
+
+  @Test
+  public void mapsKeysCaseInsensitively() {
+    assertEquals(DtmfTonePlayer.getKeyIndex('a'), DtmfTonePlayer.getKeyIndex('A'));
+    assertTrue(DtmfTonePlayer.getKeyIndex('#') >= 0);
+    assertEquals(-1, DtmfTonePlayer.getKeyIndex('w'));
+    assertEquals(-1, DtmfTonePlayer.getKeyIndex(','));
+  }
+
+  @Test
+  public void tonesAreFadedAndDoNotClip() {
+    for (short[] table: DtmfTonePlayer.createToneTables(SAMPLE_RATE)) {
+      assertEquals(SAMPLE_RATE / 10, table.length);
+      assertEquals(0, table[0]);
+      assertEquals(0, table[table.length - 1]);
+      for (short sample: table) {
+        assertTrue(Math.abs(sample) < Short.MAX_VALUE / 2);
+      }
+    }
+  }
+
+  @Test
+  public void tonesHoldTheirRowAndColumnFrequencies() {
+    short[] five = DtmfTonePlayer.createToneTables(SAMPLE_RATE)[DtmfTonePlayer.getKeyIndex('5')];
+    double row = power(five, 770);
+    double column = power(five, 1336);
+    for (int frequency: new int[] { 697, 852, 941, 1209, 1477, 1633 }) {
+      assertTrue(String.valueOf(frequency), power(five, frequency) * 10 < row);
+      assertTrue(String.valueOf(frequency), power(five, frequency) * 10 < column);
+    }
+  }
+
+  /**
+   * Goertzel power of a frequency.
+   */
+  private static double power(short[] samples, int frequency) {
+    double coefficient = 2 * Math.cos(2 * Math.PI * frequency / SAMPLE_RATE);
+    double previous = 0;
+    double beforePrevious = 0;
+    for (short sample: samples) {
+      double current = sample + coefficient * previous - beforePrevious;
+      beforePrevious = previous;
+      previous = current;
+    }
+    return previous * previous + beforePrevious * beforePrevious
+      - coefficient * previous * beforePrevious;
+  }
+}
@@ -0,0 +1,322 @@
+package com.twiliovoicereactnative;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.twilio.voice.Call;
+import com.twilio.voice.CallException;
+import com.twilio.voice.CallInvite;
+import com.twilio.voice.CancelledCallInvite;
+import com.twilio.voice.MessageListener;
+import com.twilio.voice.StatsListener;
+
+import org.mockito.invocation.InvocationOnMock;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the Voice SDK, used to drive the call pipeline of the module without
+ * network access. Invites are created from push payloads by {@link #handleMessage}, which mirrors
+ * {@code Voice.handleMessage}, and calls are fakes whose progress is scripted by the caller.
+ * <p>
+ * Like the SDK, the callbacks of a {@link MessageListener} are delivered on the main thread, as
+ * is the disconnect of a call. The other call callbacks are invoked by {@link FakeCall} on the
+ * calling thread.
+ */
+final class FakeVoiceSdk {
+  static final String MESSAGE_TYPE = "twi_message_type";
+  static final String MESSAGE_TYPE_CALL = "twilio.voice.call";
+  static final String MESSAGE_TYPE_CANCEL = "twilio.voice.cancel";
+  static final String CALL_SID = "twi_call_sid";
+  static final String FROM = "twi_from";
+  static final String TO = "twi_to";
+  static final String PARAMS = "twi_params";
+  static final int RECONNECTING_ERROR_CODE = 53405;
+  private static final String ENCODING = "UTF-8";
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final Map<String, FakeCall> calls = new ConcurrentHashMap<>();
+  private final AtomicInteger rejectedInvites = new AtomicInteger(0);
+
+  /**
+   * A call of the fake SDK, backed by a stub-only {@link Call} whose state follows the script.
+   */
+  final class FakeCall {
+    private final String callSid;
+    private final String from;
+    private final String to;
+    private final Call.Listener listener;
+    private final Call call;
+    private volatile Call.State state = Call.State.CONNECTING;
+    private volatile boolean muted = false;
+    private volatile boolean onHold = false;
+
+    private FakeCall(@NonNull String callSid,
+                     @NonNull String from,
+                     @NonNull String to,
+                     @NonNull Call.Listener listener) {
+      this.callSid = callSid;
+      this.from = from;
+      this.to = to;
+      this.listener = listener;
+      this.call = mock(Call.class, withSettings().stubOnly().defaultAnswer(this::answer));
+    }
+
+    @NonNull
+    Call getCall() {
+      return call;
+    }
+
+    @NonNull
+    Call.State getState() {
+      return state;
+    }
+
+    void ringing() {
+      state = Call.State.RINGING;
+      listener.onRinging(call);
+    }
+
+    void connected() {
+      state = Call.State.CONNECTED;
+      listener.onConnected(call);
+    }
+
+    void connectFailure(@NonNull CallException callException) {
+      state = Call.State.DISCONNECTED;
+      calls.remove(callSid);
+      listener.onConnectFailure(call, callException);
+    }
+
+    void reconnecting() {
+      state = Call.State.RECONNECTING;
+      listener.onReconnecting(call, createCallException(RECONNECTING_ERROR_CODE, "Reconnecting"));
+    }
+
+    void reconnected() {
+      state = Call.State.CONNECTED;
+      listener.onReconnected(call);
+    }
+
+    /**
+     * Disconnect the call from the remote side.
+     */
+    void disconnected(@Nullable CallException callException) {
+      if (Call.State.DISCONNECTED != state) {
+        state = Call.State.DISCONNECTED;
+        calls.remove(callSid);
+        listener.onDisconnected(call, callException);
+      }
+    }
+
+    private Object answer(InvocationOnMock invocation) {
+      switch (invocation.getMethod().getName()) {
+        case "getSid":
+          return callSid;
+        case "getFrom":
+          return from;
+        case "getTo":
+          return to;
+        case "getState":
+          return state;
+        case "isMuted":
+          return muted;
+        case "isOnHold":
+          return onHold;
+        case "mute":
+          muted = invocation.getArgument(0);
+          return null;
+        case "hold":
+          onHold = invocation.getArgument(0);
+          return null;
+        case "disconnect":
+          mainHandler.post(() -> disconnected(null));
+          return null;
+        case "getStats":
+          final StatsListener statsListener = invocation.getArgument(0);
+          mainHandler.post(() -> statsListener.onStats(Collections.emptyList()));
+          return null;
+        default:
+          return null;
+      }
+    }
+  }
+
+  @NonNull
+  static Map<String, String> callInvitePayload(@NonNull String callSid,
+                                               @NonNull Map<String, String> customParameters) {
+    final Map<String, String> payload = new HashMap<>();
+    payload.put(MESSAGE_TYPE, MESSAGE_TYPE_CALL);
+    payload.put(CALL_SID, callSid);
+    payload.put(FROM, VoiceStandIns.FROM);
+    payload.put(TO, VoiceStandIns.TO);
+    StringBuilder params = new StringBuilder();
+    for (Map.Entry<String, String> entry: customParameters.entrySet()) {
+      if (params.length() > 0) {
+        params.append('&');
+      }
+      params.append(encode(entry.getKey())).append('=').append(encode(entry.getValue()));
+    }
+    payload.put(PARAMS, params.toString());
+    return payload;
+  }
+
+  @NonNull
+  static Map<String, String> cancelPayload(@NonNull String callSid) {
+    final Map<String, String> payload = new HashMap<>();
+    payload.put(MESSAGE_TYPE, MESSAGE_TYPE_CANCEL);
+    payload.put(CALL_SID, callSid);
+    payload.put(FROM, VoiceStandIns.FROM);
+    payload.put(TO, VoiceStandIns.TO);
+    return payload;
+  }
+
+  /**
+   * Shim of {@code Voice.handleMessage}, may be invoked from any thread.
+   * @return true if the payload is a call invite or a cancel
+   */
+  boolean handleMessage(@NonNull Context context,
+                        @NonNull Map<String, String> data,
+                        @NonNull MessageListener listener,
+                        @NonNull Call.CallMessageListener callMessageListener) {
+    final String callSid = data.get(CALL_SID);
+    if (null == callSid) {
+      return false;
+    }
+    if (MESSAGE_TYPE_CALL.equals(data.get(MESSAGE_TYPE))) {
+      final CallInvite callInvite = createCallInvite(data);
+      mainHandler.post(() -> listener.onCallInvite(callInvite));
+      return true;
+    } else if (MESSAGE_TYPE_CANCEL.equals(data.get(MESSAGE_TYPE))) {
+      final CancelledCallInvite cancelledCallInvite =
+        VoiceStandIns.createCancelledCallInvite(callSid);
+      mainHandler.post(() -> listener.onCancelledCallInvite(cancelledCallInvite, null));
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Shim of {@code Voice.connect}, the call starts in the connecting state.
+   */
+  @NonNull
+  FakeCall connect(@NonNull String callSid, @NonNull Call.Listener listener) {
+    final FakeCall fakeCall = new FakeCall(callSid, VoiceStandIns.FROM, VoiceStandIns.TO, listener);
+    calls.put(callSid, fakeCall);
+    return fakeCall;
+  }
+
+  /**
+   * Create an invite without going through a push payload, for callers that invoke a
+   * {@link MessageListener} themselves.
+   */
+  @NonNull
+  CallInvite createCallInvite(@NonNull String callSid,
+                              @NonNull Map<String, String> customParameters) {
+    return createCallInvite(callInvitePayload(callSid, customParameters));
+  }
+
+  /**
+   * @return the call of an accepted invite or of a connect, null if it has disconnected
+   */
+  @Nullable
+  FakeCall getCall(@NonNull String callSid) {
+    return calls.get(callSid);
+  }
+
+  /**
+   * @return the calls that have not disconnected
+   */
+  @NonNull
+  Set<String> getActiveCallSids() {
+    return Collections.unmodifiableSet(calls.keySet());
+  }
+
+  int getRejectedInviteCount() {
+    return rejectedInvites.get();
+  }
+
+  @NonNull
+  static CallException createCallException(int errorCode, @NonNull String message) {
+    final CallException callException = mock(CallException.class, withSettings().stubOnly());
+    when(callException.getErrorCode()).thenReturn(errorCode);
+    when(callException.getMessage()).thenReturn(message);
+    return callException;
+  }
+
+  @NonNull
+  private CallInvite createCallInvite(@NonNull Map<String, String> data) {
+    final String callSid = data.get(CALL_SID);
+    final String from = data.get(FROM);
+    final String to = data.get(TO);
+    final Map<String, String> customParameters = Collections.unmodifiableMap(
+      decodeParams(data.get(PARAMS)));
+    return mock(CallInvite.class, withSettings().stubOnly().defaultAnswer(invocation -> {
+      switch (invocation.getMethod().getName()) {
+        case "getCallSid":
+          return callSid;
+        case "getFrom":
+          return from;
+        case "getTo":
+          return to;
+        case "getCustomParameters":
+          return customParameters;
+        case "accept":
+          return connect(callSid, invocation.getArgument(2)).getCall();
+        case "reject":
+          rejectedInvites.incrementAndGet();
+          return null;
+        default:
+          return null;
+      }
+    }));
+  }
+
+  @NonNull
+  private static Map<String, String> decodeParams(@Nullable String params) {
+    final Map<String, String> decoded = new HashMap<>();
+    if ((null != params) && !params.isEmpty()) {
+      for (String param: params.split("&")) {
+        final int separator = param.indexOf('=');
+        if (separator > 0) {
+          decoded.put(
+            decode(param.substring(0, separator)), decode(param.substring(separator + 1)));
+        }
+      }
+    }
+    return decoded;
+  }
+
+  @NonNull
+  private static String encode(@NonNull String value) {
+    try {
+      return URLEncoder.encode(value, ENCODING);
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @NonNull
+  private static String decode(@NonNull String value) {
+    try {
+      return URLDecoder.decode(value, ENCODING);
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+  @Test
+  public void emptyHistogramReportsZero() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0.0, snapshot.getMeanMillis(), 0.0);
+    assertEquals(0.0, snapshot.getMaxMillis(), 0.0);
+    assertEquals(0.0, snapshot.getPercentileMillis(99), 0.0);
+  }
+
+  @Test
+  public void percentilesAreWithinBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long millis = 1; millis <= 1000; ++millis) {
+      histogram.record(millis * 1000);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(500.5, snapshot.getMeanMillis(), 1e-9);
+    assertEquals(1000.0, snapshot.getMaxMillis(), 0.0);
+    assertEquals(500.0, snapshot.getPercentileMillis(50), 500.0 * 0.07);
+    assertEquals(950.0, snapshot.getPercentileMillis(95), 950.0 * 0.07);
+    assertEquals(990.0, snapshot.getPercentileMillis(99), 990.0 * 0.07);
+  }
+
+  @Test
+  public void negativeIntervalsAreIgnored() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-1);
+    histogram.recordNanos(2_000_000L, 1_000_000L);
+    assertEquals(0, histogram.snapshot().getCount());
+  }
+
+  @Test
+  public void resetDiscardsSamples() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1234);
+    histogram.reset();
+    assertEquals(0, histogram.snapshot().getCount());
+    assertEquals(0.0, histogram.snapshot().getMaxMillis(), 0.0);
+  }
+}
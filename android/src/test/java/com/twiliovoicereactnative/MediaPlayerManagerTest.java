@@ -0,0 +1,107 @@
+package com.twiliovoicereactnative;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.media.SoundPool;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedConstruction;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(RobolectricTestRunner.class)
+public class MediaPlayerManagerTest {
+  private static final int MAX_STREAMS = 4;
+  private final UUID firstCall = UUID.randomUUID();
+  private final UUID secondCall = UUID.randomUUID();
+  private final AtomicInteger nextStreamId = new AtomicInteger(1);
+  private SoundPool soundPool;
+  private SoundPool.OnLoadCompleteListener loadCompleteListener;
+  private MediaPlayerManager mediaPlayerManager;
+
+  @Before
+  public void setUp() {
+    final AtomicReference<SoundPool.OnLoadCompleteListener> listener = new AtomicReference<>(null);
+    try (MockedConstruction<SoundPool> constructed = mockConstruction(
+      SoundPool.class,
+      (pool, context) -> {
+        // the sample ID of each sound is its resource ID
+        when(pool.load(any(Context.class), anyInt(), anyInt()))
+          .thenAnswer(invocation -> invocation.getArgument(1));
+        when(pool.play(anyInt(), anyFloat(), anyFloat(), anyInt(), anyInt(), anyFloat()))
+          .thenAnswer(invocation -> nextStreamId.getAndIncrement());
+        doAnswer(invocation -> {
+          listener.set(invocation.getArgument(0));
+          return null;
+        }).when(pool).setOnLoadCompleteListener(any());
+      })) {
+      mediaPlayerManager = new MediaPlayerManager(RuntimeEnvironment.getApplication());
+      soundPool = constructed.constructed().get(0);
+    }
+    loadCompleteListener = listener.get();
+  }
+
+  @Test
+  public void playsOnceLoaded() {
+    mediaPlayerManager.play(firstCall, MediaPlayerManager.SoundTable.RINGTONE);
+    verify(soundPool, never())
+      .play(anyInt(), anyFloat(), anyFloat(), anyInt(), anyInt(), anyFloat());
+    loaded(R.raw.ringtone);
+    verify(soundPool, times(1))
+      .play(eq(R.raw.ringtone), anyFloat(), anyFloat(), anyInt(), eq(-1), anyFloat());
+  }
+
+  @Test
+  public void stopCancelsPlayBeforeLoaded() {
+    mediaPlayerManager.play(firstCall, MediaPlayerManager.SoundTable.RINGTONE);
+    mediaPlayerManager.stop(firstCall);
+    loaded(R.raw.ringtone);
+    verify(soundPool, never())
+      .play(anyInt(), anyFloat(), anyFloat(), anyInt(), anyInt(), anyFloat());
+  }
+
+  @Test
+  public void stopLeavesStreamsOfOtherCalls() {
+    loaded(R.raw.ringtone);
+    mediaPlayerManager.play(firstCall, MediaPlayerManager.SoundTable.RINGTONE);
+    mediaPlayerManager.play(secondCall, MediaPlayerManager.SoundTable.RINGTONE);
+    mediaPlayerManager.stop(firstCall);
+    verify(soundPool, times(1)).stop(1);
+    verify(soundPool, never()).stop(2);
+  }
+
+  @Test
+  public void evictsOneShotStreamsFirst() {
+    loaded(R.raw.ringtone);
+    loaded(R.raw.disconnect);
+    mediaPlayerManager.play(firstCall, MediaPlayerManager.SoundTable.RINGTONE);
+    mediaPlayerManager.play(secondCall, MediaPlayerManager.SoundTable.DISCONNECT);
+    for (int i = 2; i < MAX_STREAMS; ++i) {
+      mediaPlayerManager.play(UUID.randomUUID(), MediaPlayerManager.SoundTable.RINGTONE);
+    }
+    verify(soundPool, never()).stop(anyInt());
+    mediaPlayerManager.play(UUID.randomUUID(), MediaPlayerManager.SoundTable.RINGTONE);
+    verify(soundPool, times(1)).stop(2);
+    verify(soundPool, never()).stop(1);
+  }
+
+  private void loaded(int resourceId) {
+    loadCompleteListener.onLoadComplete(soundPool, resourceId, 0);
+  }
+}
@@ -0,0 +1,105 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class PcmSampleTest {
+  @Test
+  public void decodesBuiltInSounds() throws IOException {
+    for (String sound: new String[] { "incoming", "outgoing", "disconnect", "ringtone" }) {
+      try (InputStream inputStream =
+             new FileInputStream("src/main/res/raw/" + sound + ".wav")) {
+        PcmSample sample = PcmSample.decodeWav(inputStream);
+        assertEquals(sound, 44100, sample.getSampleRate());
+        assertEquals(sound, 2, sample.getChannelCount());
+        assertTrue(sound, sample.getFrameCount() > 0);
+        assertTrue(sound, sample.getData().isDirect());
+      }
+    }
+  }
+
+  @Test
+  public void skipsUnknownChunks() throws IOException {
+    PcmSample sample = PcmSample.decodeWav(new ByteArrayInputStream(
+      createWav(1, 8000, 16, 3, new short[] { 1, -1, 2 })));
+    assertEquals(8000, sample.getSampleRate());
+    assertEquals(1, sample.getChannelCount());
+    assertEquals(3, sample.getFrameCount());
+    ByteBuffer data = sample.getData().order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(1, data.getShort());
+    assertEquals(-1, data.getShort());
+    assertEquals(2, data.getShort());
+  }
+
+  @Test
+  public void resamplesByInterpolation() throws IOException {
+    PcmSample sample = PcmSample.decodeWav(new ByteArrayInputStream(
+      createWav(1, 8000, 16, 0, new short[] { 0, 100 }))).resample(16000);
+    assertEquals(16000, sample.getSampleRate());
+    assertEquals(4, sample.getFrameCount());
+    ByteBuffer data = sample.getData().order(ByteOrder.nativeOrder());
+    for (short expected: new short[] { 0, 50, 100, 100 }) {
+      assertEquals(expected, data.getShort());
+    }
+  }
+
+  @Test
+  public void keepsSamplesAtTheTargetRate() throws IOException {
+    PcmSample sample = PcmSample.decodeWav(new ByteArrayInputStream(
+      createWav(1, 8000, 16, 0, new short[] { 1, 2 })));
+    assertSame(sample, sample.resample(8000));
+    assertSame(sample, sample.resample(0));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsNonPcm() throws IOException {
+    PcmSample.decodeWav(new ByteArrayInputStream(createWav(3, 8000, 32, 0, new short[0])));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsTruncatedStream() throws IOException {
+    byte[] wav = createWav(1, 8000, 16, 0, new short[] { 1, 2, 3, 4 });
+    PcmSample.decodeWav(new ByteArrayInputStream(wav, 0, wav.length - 2));
+  }
+
+  /**
+   * @param junkSize the size of a chunk to skip between the format and the samples, odd sizes
+   *                 are padded
+   */
+  private static byte[] createWav(int audioFormat,
+                                  int sampleRate,
+                                  int bitsPerSample,
+                                  int junkSize,
+                                  short[] samples) {
+    final int paddedJunkSize = junkSize + (junkSize & 1);
+    ByteBuffer wav = ByteBuffer
+      .allocate(12 + 24 + ((junkSize > 0) ? 8 + paddedJunkSize : 0) + 8 + 2 * samples.length)
+      .order(ByteOrder.LITTLE_ENDIAN);
+    wav.put("RIFF".getBytes()).putInt(wav.capacity() - 8).put("WAVE".getBytes());
+    wav.put("fmt ".getBytes()).putInt(16)
+      .putShort((short) audioFormat)
+      .putShort((short) 1)
+      .putInt(sampleRate)
+      .putInt(sampleRate * bitsPerSample / 8)
+      .putShort((short) (bitsPerSample / 8))
+      .putShort((short) bitsPerSample);
+    if (junkSize > 0) {
+      wav.put("LIST".getBytes()).putInt(junkSize).put(new byte[paddedJunkSize]);
+    }
+    wav.put("data".getBytes()).putInt(2 * samples.length);
+    for (short sample: samples) {
+      wav.putShort(sample);
+    }
+    return wav.array();
+  }
+}
@@ -0,0 +1,53 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.twilio.voice.Call;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReactNativeArgumentsSerializerTest {
+  @Test
+  public void serializeCall() {
+    final UUID uuid = UUID.randomUUID();
+    final CallRecordDatabase.CallRecord record = new CallRecordDatabase.CallRecord(
+      uuid,
+      VoiceStandIns.createCall("CA00000000000000000000000000000001", Call.State.RINGING),
+      VoiceStandIns.TO,
+      Collections.emptyMap(),
+      CallRecordDatabase.CallRecord.Direction.OUTGOING,
+      null);
+    ReadableMap call = ReactNativeArgumentsSerializer.serializeCall(record);
+    assertEquals(uuid.toString(), call.getString(CommonConstants.CallInfoUuid));
+    assertEquals("CA00000000000000000000000000000001", call.getString(CommonConstants.CallInfoSid));
+    assertEquals(VoiceStandIns.FROM, call.getString(CommonConstants.CallInfoFrom));
+    assertEquals(VoiceStandIns.TO, call.getString(CommonConstants.CallInfoTo));
+    assertEquals(CommonConstants.CallStateRinging, call.getString(CommonConstants.CallInfoState));
+    assertFalse(call.getBoolean(CommonConstants.CallInfoIsMuted));
+    assertFalse(call.getBoolean(CommonConstants.CallInfoIsOnHold));
+    assertFalse(call.hasKey(CommonConstants.CallInfoInitialConnectedTimestamp));
+  }
+
+  @Test
+  public void serializeCallInvite() {
+    final UUID uuid = UUID.randomUUID();
+    final CallRecordDatabase.CallRecord record = new CallRecordDatabase.CallRecord(
+      uuid,
+      VoiceStandIns.createCallInvite(
+        "CA00000000000000000000000000000002",
+        Collections.singletonMap("displayName", "Alice")));
+    ReadableMap callInvite = ReactNativeArgumentsSerializer.serializeCallInvite(record);
+    assertEquals(uuid.toString(), callInvite.getString(CommonConstants.CallInviteInfoUuid));
+    assertEquals(
+      "Alice",
+      callInvite.getMap(CommonConstants.CallInviteInfoCustomParameters).getString("displayName"));
+  }
+}
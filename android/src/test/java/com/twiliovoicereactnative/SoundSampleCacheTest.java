@@ -0,0 +1,68 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class SoundSampleCacheTest {
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    SoundSampleCache cache = new SoundSampleCache(300);
+    cache.put("a", createSample(100));
+    cache.put("b", createSample(100));
+    cache.put("c", createSample(100));
+    assertNotNull(cache.get("a"));
+    cache.put("d", createSample(100));
+    assertNotNull(cache.get("a"));
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+    assertNotNull(cache.get("d"));
+    assertEquals(300, cache.getByteSize());
+  }
+
+  @Test
+  public void evictsUntilLargeSampleFits() {
+    SoundSampleCache cache = new SoundSampleCache(300);
+    cache.put("a", createSample(100));
+    cache.put("b", createSample(100));
+    cache.put("c", createSample(250));
+    assertEquals(1, cache.size());
+    assertEquals(250, cache.getByteSize());
+  }
+
+  @Test
+  public void replacesSameSource() {
+    SoundSampleCache cache = new SoundSampleCache(300);
+    cache.put("a", createSample(100));
+    PcmSample sample = createSample(200);
+    cache.put("a", sample);
+    assertSame(sample, cache.get("a"));
+    assertEquals(200, cache.getByteSize());
+  }
+
+  @Test
+  public void skipsSampleLargerThanCache() {
+    SoundSampleCache cache = new SoundSampleCache(300);
+    cache.put("a", createSample(100));
+    cache.put("b", createSample(400));
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("a"));
+    assertEquals(100, cache.getByteSize());
+  }
+
+  @Test
+  public void disabledWhenEmpty() {
+    SoundSampleCache cache = new SoundSampleCache(0);
+    cache.put("a", createSample(100));
+    assertEquals(0, cache.size());
+  }
+
+  private static PcmSample createSample(int byteSize) {
+    return new PcmSample(ByteBuffer.allocateDirect(byteSize), 8000, 1);
+  }
+}
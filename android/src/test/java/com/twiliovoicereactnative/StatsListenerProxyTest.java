@@ -0,0 +1,73 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+@RunWith(RobolectricTestRunner.class)
+public class StatsListenerProxyTest {
+  private static final String UUID = "8f1d1e8a-0000-4000-8000-000000000000";
+
+  @Test
+  public void fullReportSerializesAllEntries() {
+    TestPromise promise = new TestPromise();
+    new StatsListenerProxy(UUID, null, promise)
+      .onStats(Collections.singletonList(VoiceStandIns.createStatsReport("pc", 8, 1)));
+    ReadableMap report = ((ReadableArray) promise.getValue()).getMap(0);
+    assertEquals("pc", report.getString(CommonConstants.PeerConnectionId));
+    assertEquals(1, report.getArray(CommonConstants.LocalAudioTrackStats).size());
+    assertEquals(1, report.getArray(CommonConstants.RemoteAudioTrackStats).size());
+    assertEquals(8, report.getArray(CommonConstants.IceCandidateStats).size());
+    assertEquals(4, report.getArray(CommonConstants.IceCandidatePairStats).size());
+  }
+
+  @Test
+  public void changeOnlyReportOmitsUnchangedIceEntries() {
+    StatsListenerProxy.IceStatsFingerprint fingerprint = new StatsListenerProxy.IceStatsFingerprint();
+    new StatsListenerProxy(UUID, null, new TestPromise(), fingerprint, false)
+      .onStats(Collections.singletonList(VoiceStandIns.createStatsReport("pc", 8, 1)));
+
+    TestPromise promise = new TestPromise();
+    new StatsListenerProxy(UUID, null, promise, fingerprint, true)
+      .onStats(Collections.singletonList(VoiceStandIns.createStatsReport("pc", 6, 2)));
+    ReadableMap report = ((ReadableArray) promise.getValue()).getMap(0);
+    assertTrue(report.getBoolean(CommonConstants.IceStatsChangesOnly));
+    assertEquals(0, report.getArray(CommonConstants.IceCandidateStats).size());
+    assertEquals(0, report.getArray(CommonConstants.IceCandidatePairStats).size());
+    assertEquals(2, report.getArray(CommonConstants.RemovedIceCandidateStats).size());
+    assertEquals(1, report.getArray(CommonConstants.RemovedIceCandidatePairStats).size());
+  }
+
+  @Test
+  public void peerConnectionsKeepEachOthersIceEntries() {
+    StatsListenerProxy.IceStatsFingerprint fingerprint = new StatsListenerProxy.IceStatsFingerprint();
+    new StatsListenerProxy(UUID, null, new TestPromise(), fingerprint, false)
+      .onStats(Arrays.asList(
+        VoiceStandIns.createStatsReport("pc1", 8, 1),
+        VoiceStandIns.createStatsReport("pc2", 8, 1)));
+
+    TestPromise promise = new TestPromise();
+    new StatsListenerProxy(UUID, null, promise, fingerprint, true)
+      .onStats(Arrays.asList(
+        VoiceStandIns.createStatsReport("pc1", 8, 2),
+        VoiceStandIns.createStatsReport("pc2", 6, 2)));
+    ReadableArray reports = (ReadableArray) promise.getValue();
+    ReadableMap first = reports.getMap(0);
+    assertEquals(0, first.getArray(CommonConstants.IceCandidateStats).size());
+    assertEquals(0, first.getArray(CommonConstants.RemovedIceCandidateStats).size());
+    assertEquals(0, first.getArray(CommonConstants.RemovedIceCandidatePairStats).size());
+    ReadableMap second = reports.getMap(1);
+    assertEquals(0, second.getArray(CommonConstants.IceCandidateStats).size());
+    assertEquals(2, second.getArray(CommonConstants.RemovedIceCandidateStats).size());
+    assertEquals(1, second.getArray(CommonConstants.RemovedIceCandidatePairStats).size());
+  }
+}
@@ -0,0 +1,106 @@
+package com.twiliovoicereactnative;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Stand-in for the promises passed by the JS layer, records how the promise was settled.
+ */
+class TestPromise implements Promise {
+  private int settledCount = 0;
+  private Object value = null;
+  private String rejectionCode = null;
+  private String rejectionMessage = null;
+
+  synchronized boolean isSettled() {
+    return settledCount > 0;
+  }
+
+  synchronized boolean isRejected() {
+    return null != rejectionCode;
+  }
+
+  synchronized int getSettledCount() {
+    return settledCount;
+  }
+
+  @Nullable
+  synchronized Object getValue() {
+    return value;
+  }
+
+  @Nullable
+  synchronized String getRejectionCode() {
+    return rejectionCode;
+  }
+
+  @Nullable
+  synchronized String getRejectionMessage() {
+    return rejectionMessage;
+  }
+
+  @Override
+  public synchronized void resolve(@Nullable Object value) {
+    ++settledCount;
+    this.value = value;
+  }
+
+  @Override
+  public void reject(String code, String message) {
+    settle(code, message);
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable) {
+    settle(code, throwable.getMessage());
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable) {
+    settle(code, message);
+  }
+
+  @Override
+  public void reject(Throwable throwable) {
+    settle(throwable.getClass().getSimpleName(), throwable.getMessage());
+  }
+
+  @Override
+  public void reject(Throwable throwable, WritableMap userInfo) {
+    settle(throwable.getClass().getSimpleName(), throwable.getMessage());
+  }
+
+  @Override
+  public void reject(String code, WritableMap userInfo) {
+    settle(code, null);
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable, WritableMap userInfo) {
+    settle(code, throwable.getMessage());
+  }
+
+  @Override
+  public void reject(String code, String message, WritableMap userInfo) {
+    settle(code, message);
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+    settle(code, message);
+  }
+
+  @Override
+  @Deprecated
+  public void reject(String message) {
+    settle("", message);
+  }
+
+  private synchronized void settle(String code, String message) {
+    ++settledCount;
+    rejectionCode = (null != code) ? code : "";
+    rejectionMessage = message;
+  }
+}
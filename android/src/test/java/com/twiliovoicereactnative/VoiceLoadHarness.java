@@ -0,0 +1,312 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getCallRecordDatabase;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getJSEventEmitter;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+import com.twilio.voice.CallException;
+import com.twilio.voice.CallInvite;
+import com.twilio.voice.CancelledCallInvite;
+import com.twilio.voice.MessageListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Drives the call pipeline of the module, from push messages through {@link VoiceService} to
+ * {@link CallListenerProxy}, with the {@link FakeVoiceSdk}. Must be used from a Robolectric
+ * test, on the main thread.
+ * <p>
+ * Each scenario handles a batch of calls that are all alive at the same time: push messages are
+ * delivered concurrently from a pool of threads, the way they arrive from Firebase, then every
+ * step of the scenario is applied to every call before the next step starts. The report holds
+ * the latency of each step on the main thread, the throughput of the scenario and the call
+ * records that were not removed once all calls ended.
+ */
+final class VoiceLoadHarness implements AutoCloseable {
+  enum Scenario {
+    /** Incoming calls that are accepted, connect and are disconnected locally. */
+    ACCEPT,
+    /** Incoming calls that are rejected. */
+    REJECT,
+    /** Incoming calls that are cancelled by the caller. */
+    CANCEL,
+    /** Incoming calls that are accepted, reconnect once and are disconnected locally. */
+    RECONNECT,
+    /** Outgoing calls that ring, connect and are disconnected by the remote side. */
+    OUTGOING
+  }
+
+  static final class Report {
+    final Scenario scenario;
+    final int calls;
+    final long elapsedNanos;
+    final Map<String, LatencyHistogram.Snapshot> stepLatency;
+    final List<String> leakedRecords;
+
+    private Report(@NonNull Scenario scenario,
+                   int calls,
+                   long elapsedNanos,
+                   @NonNull Map<String, LatencyHistogram.Snapshot> stepLatency,
+                   @NonNull List<String> leakedRecords) {
+      this.scenario = scenario;
+      this.calls = calls;
+      this.elapsedNanos = elapsedNanos;
+      this.stepLatency = Collections.unmodifiableMap(stepLatency);
+      this.leakedRecords = Collections.unmodifiableList(leakedRecords);
+    }
+
+    /**
+     * @return completed calls per second
+     */
+    double getThroughput() {
+      return (elapsedNanos > 0) ? calls * 1e9 / elapsedNanos : 0.0;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      StringBuilder report = new StringBuilder(String.format(Locale.US,
+        "%s: %d calls in %.1f ms, %.1f calls/s, %d leaked records%n",
+        scenario, calls, elapsedNanos / 1e6, getThroughput(), leakedRecords.size()));
+      for (Map.Entry<String, LatencyHistogram.Snapshot> step: stepLatency.entrySet()) {
+        final LatencyHistogram.Snapshot latency = step.getValue();
+        report.append(String.format(Locale.US,
+          "  %-14s n=%-5d mean=%.3f p50=%.3f p95=%.3f p99=%.3f max=%.3f ms%n",
+          step.getKey(),
+          latency.getCount(),
+          latency.getMeanMillis(),
+          latency.getPercentileMillis(50),
+          latency.getPercentileMillis(95),
+          latency.getPercentileMillis(99),
+          latency.getMaxMillis()));
+      }
+      for (String record: leakedRecords) {
+        report.append("  leaked ").append(record).append(System.lineSeparator());
+      }
+      return report.toString();
+    }
+  }
+
+  private final VoiceTestEnvironment environment;
+  private final FakeVoiceSdk voiceSdk = new FakeVoiceSdk();
+  private final VoiceService.VoiceServiceAPI voiceServiceApi;
+  /**
+   * An active JS layer, held here since the emitter only keeps a weak reference to it.
+   */
+  private final ReactApplicationContext reactContext = mock(ReactApplicationContext.class);
+  private final ExecutorService pushExecutor;
+  private final Map<String, LatencyHistogram> stepLatency = new LinkedHashMap<>();
+  private int callCounter = 0;
+
+  /**
+   * @param pushThreads the number of threads push messages are delivered from
+   */
+  VoiceLoadHarness(int pushThreads) {
+    environment = new VoiceTestEnvironment();
+    voiceServiceApi = environment.getVoiceServiceApi();
+    when(reactContext.hasActiveReactInstance()).thenReturn(true);
+    when(reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class))
+      .thenReturn(mock(DeviceEventManagerModule.RCTDeviceEventEmitter.class));
+    getJSEventEmitter().setContext(reactContext);
+    pushExecutor = Executors.newFixedThreadPool(Math.max(1, pushThreads));
+  }
+
+  @NonNull
+  FakeVoiceSdk getVoiceSdk() {
+    return voiceSdk;
+  }
+
+  /**
+   * Run a scenario. Leaked records are reported, then removed so that scenarios can be chained.
+   * @param scenario the scenario
+   * @param calls the number of calls alive at the same time
+   */
+  @NonNull
+  Report run(@NonNull Scenario scenario, int calls) {
+    stepLatency.clear();
+    final List<String> callSids = new ArrayList<>(calls);
+    for (int i = 0; i < calls; ++i) {
+      callSids.add(String.format(Locale.US, "CA%032d", ++callCounter));
+    }
+    final long startTimestamp = System.nanoTime();
+    if (Scenario.OUTGOING == scenario) {
+      for (String callSid: callSids) {
+        step("connect", () -> connect(callSid));
+      }
+      for (String callSid: callSids) {
+        step("ringing", () -> voiceSdk.getCall(callSid).ringing());
+      }
+    } else {
+      deliverPushes(callSids, callSid -> FakeVoiceSdk.callInvitePayload(
+        callSid, Collections.singletonMap("displayName", "Caller " + callSid.substring(28))));
+      for (String callSid: callSids) {
+        record("pushToEvent", getCallRecord(callSid).getLatencyTrace().getIntervalMicros(
+          CallLatencyTrace.Stage.PUSH_RECEIVED, CallLatencyTrace.Stage.EVENT_EMITTED));
+      }
+      if (Scenario.REJECT == scenario) {
+        for (String callSid: callSids) {
+          step("reject", () -> voiceServiceApi.rejectCall(getCallRecord(callSid)));
+        }
+      } else if (Scenario.CANCEL == scenario) {
+        deliverPushes(callSids, FakeVoiceSdk::cancelPayload);
+      } else {
+        for (String callSid: callSids) {
+          step("accept", () -> voiceServiceApi.acceptCall(getCallRecord(callSid)));
+        }
+      }
+    }
+    if ((Scenario.REJECT != scenario) && (Scenario.CANCEL != scenario)) {
+      for (String callSid: callSids) {
+        step("connected", () -> voiceSdk.getCall(callSid).connected());
+      }
+      if (Scenario.RECONNECT == scenario) {
+        for (String callSid: callSids) {
+          step("reconnecting", () -> voiceSdk.getCall(callSid).reconnecting());
+        }
+        for (String callSid: callSids) {
+          step("reconnected", () -> voiceSdk.getCall(callSid).reconnected());
+        }
+      }
+      for (String callSid: callSids) {
+        if (Scenario.OUTGOING == scenario) {
+          step("disconnected", () -> voiceSdk.getCall(callSid).disconnected(null));
+        } else {
+          step("disconnect", () -> {
+            voiceServiceApi.disconnect(getCallRecord(callSid));
+            idleMainLooper();
+          });
+        }
+      }
+    }
+    idleMainLooper();
+    final long elapsedNanos = System.nanoTime() - startTimestamp;
+
+    final List<String> leakedRecords = new ArrayList<>();
+    for (CallRecordDatabase.CallRecord callRecord: getCallRecordDatabase().getCollection()) {
+      leakedRecords.add(callRecord.getUuid() + " " + callRecord.getCallSid());
+    }
+    getCallRecordDatabase().clear();
+    final Map<String, LatencyHistogram.Snapshot> snapshots = new LinkedHashMap<>();
+    for (Map.Entry<String, LatencyHistogram> step: stepLatency.entrySet()) {
+      snapshots.put(step.getKey(), step.getValue().snapshot());
+    }
+    return new Report(scenario, calls, elapsedNanos, snapshots, leakedRecords);
+  }
+
+  @Override
+  public void close() {
+    pushExecutor.shutdownNow();
+    environment.close();
+  }
+
+  /**
+   * Deliver push messages concurrently, then their callbacks on the main thread.
+   */
+  private void deliverPushes(@NonNull List<String> callSids,
+                             @NonNull Function<String, Map<String, String>> payload) {
+    final List<Future<Boolean>> results = new ArrayList<>(callSids.size());
+    for (String callSid: callSids) {
+      results.add(pushExecutor.submit(() -> voiceSdk.handleMessage(
+        environment.getApplication(),
+        payload.apply(callSid),
+        timedMessageHandler(),
+        new CallMessageListenerProxy())));
+    }
+    for (Future<Boolean> result: results) {
+      try {
+        if (!result.get()) {
+          throw new IllegalStateException("Push message was not handled");
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    idleMainLooper();
+  }
+
+  /**
+   * Connect an outgoing call the way the native module does.
+   */
+  private void connect(@NonNull String callSid) {
+    final UUID uuid = UUID.randomUUID();
+    final long connectTimestamp = System.nanoTime();
+    final CallRecordDatabase.CallRecord callRecord = new CallRecordDatabase.CallRecord(
+      uuid,
+      voiceSdk.connect(
+        callSid,
+        new CallListenerProxy(uuid, voiceServiceApi.getServiceContext())).getCall(),
+      VoiceStandIns.TO,
+      Collections.emptyMap(),
+      CallRecordDatabase.CallRecord.Direction.OUTGOING,
+      null);
+    callRecord.getLatencyTrace().mark(CallLatencyTrace.Stage.CONNECT_INVOKED, connectTimestamp);
+    getCallRecordDatabase().add(callRecord);
+  }
+
+  /**
+   * A message handler constructed when the push message arrives, as in
+   * {@link VoiceFirebaseMessagingService}, whose callbacks are timed.
+   */
+  @NonNull
+  private MessageListener timedMessageHandler() {
+    final MessageListener messageHandler = new VoiceFirebaseMessagingService.MessageHandler();
+    return new MessageListener() {
+      @Override
+      public void onCallInvite(@NonNull CallInvite callInvite) {
+        step("invite", () -> messageHandler.onCallInvite(callInvite));
+      }
+
+      @Override
+      public void onCancelledCallInvite(@NonNull CancelledCallInvite cancelledCallInvite,
+                                        CallException callException) {
+        step("cancel", () -> messageHandler.onCancelledCallInvite(
+          cancelledCallInvite, callException));
+      }
+    };
+  }
+
+  @NonNull
+  private static CallRecordDatabase.CallRecord getCallRecord(@NonNull String callSid) {
+    final CallRecordDatabase.CallRecord callRecord =
+      getCallRecordDatabase().get(new CallRecordDatabase.CallRecord(callSid));
+    if (null == callRecord) {
+      throw new IllegalStateException("No call record for " + callSid);
+    }
+    return callRecord;
+  }
+
+  private void step(@NonNull String name, @NonNull Runnable step) {
+    final long startTimestamp = System.nanoTime();
+    step.run();
+    record(name, (System.nanoTime() - startTimestamp) / 1000L);
+  }
+
+  private void record(@NonNull String name, long micros) {
+    LatencyHistogram histogram = stepLatency.get(name);
+    if (null == histogram) {
+      histogram = new LatencyHistogram();
+      stepLatency.put(name, histogram);
+    }
+    histogram.record(micros);
+  }
+
+  private static void idleMainLooper() {
+    VoiceTestEnvironment.idleMainLooper();
+  }
+}
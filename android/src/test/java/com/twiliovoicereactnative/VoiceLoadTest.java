@@ -0,0 +1,67 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Load scenarios of the call pipeline. Runs only when the number of concurrent calls is set with
+ * the `voice.load.calls` system property, see CONTRIBUTING.md.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class VoiceLoadTest {
+  private static final int CALLS = Integer.getInteger("voice.load.calls", 0);
+  private static final int PUSH_THREADS = 4;
+  private VoiceLoadHarness harness;
+
+  @Before
+  public void setUp() {
+    assumeTrue(CALLS > 0);
+    harness = new VoiceLoadHarness(PUSH_THREADS);
+  }
+
+  @After
+  public void tearDown() {
+    if (null != harness) {
+      harness.close();
+    }
+  }
+
+  @Test
+  public void acceptedCalls() {
+    assertNoLeaks(harness.run(VoiceLoadHarness.Scenario.ACCEPT, CALLS));
+  }
+
+  @Test
+  public void rejectedCalls() {
+    assertNoLeaks(harness.run(VoiceLoadHarness.Scenario.REJECT, CALLS));
+    assertEquals(CALLS, harness.getVoiceSdk().getRejectedInviteCount());
+  }
+
+  @Test
+  public void cancelledCalls() {
+    assertNoLeaks(harness.run(VoiceLoadHarness.Scenario.CANCEL, CALLS));
+  }
+
+  @Test
+  public void reconnectingCalls() {
+    assertNoLeaks(harness.run(VoiceLoadHarness.Scenario.RECONNECT, CALLS));
+  }
+
+  @Test
+  public void outgoingCalls() {
+    assertNoLeaks(harness.run(VoiceLoadHarness.Scenario.OUTGOING, CALLS));
+  }
+
+  private void assertNoLeaks(VoiceLoadHarness.Report report) {
+    System.out.print(report);
+    assertEquals(report.toString(), 0, report.leakedRecords.size());
+    assertTrue(harness.getVoiceSdk().getActiveCallSids().isEmpty());
+  }
+}
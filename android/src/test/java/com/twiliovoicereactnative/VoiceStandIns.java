@@ -0,0 +1,166 @@
+package com.twiliovoicereactnative;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import androidx.annotation.NonNull;
+
+import com.twilio.voice.Call;
+import com.twilio.voice.CallInvite;
+import com.twilio.voice.CancelledCallInvite;
+import com.twilio.voice.IceCandidatePairState;
+import com.twilio.voice.IceCandidatePairStats;
+import com.twilio.voice.IceCandidateStats;
+import com.twilio.voice.LocalAudioTrackStats;
+import com.twilio.voice.RemoteAudioTrackStats;
+import com.twilio.voice.StatsReport;
+
+import org.objenesis.ObjenesisStd;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stand-ins for the Voice SDK types in JVM tests and benchmarks. Calls and invites are stub-only
+ * mocks, which do not record their invocations. The SDK does not expose the constructors of the
+ * stats types, so stats are instantiated without a constructor and their public fields are set
+ * reflectively.
+ */
+final class VoiceStandIns {
+  static final String FROM = "client:alice";
+  static final String TO = "+15555550100";
+  private static final ObjenesisStd objenesis = new ObjenesisStd();
+
+  private VoiceStandIns() {}
+
+  @NonNull
+  static Call createCall(@NonNull String callSid, @NonNull Call.State state) {
+    final Call call = mock(Call.class, withSettings().stubOnly());
+    when(call.getSid()).thenReturn(callSid);
+    when(call.getFrom()).thenReturn(FROM);
+    when(call.getTo()).thenReturn(TO);
+    when(call.getState()).thenReturn(state);
+    when(call.isMuted()).thenReturn(false);
+    when(call.isOnHold()).thenReturn(false);
+    return call;
+  }
+
+  @NonNull
+  static CallInvite createCallInvite(@NonNull String callSid,
+                                     @NonNull Map<String, String> customParameters) {
+    final CallInvite callInvite = mock(CallInvite.class, withSettings().stubOnly());
+    when(callInvite.getCallSid()).thenReturn(callSid);
+    when(callInvite.getFrom()).thenReturn(FROM);
+    when(callInvite.getTo()).thenReturn(TO);
+    when(callInvite.getCustomParameters()).thenReturn(Collections.unmodifiableMap(customParameters));
+    return callInvite;
+  }
+
+  @NonNull
+  static CancelledCallInvite createCancelledCallInvite(@NonNull String callSid) {
+    final CancelledCallInvite cancelledCallInvite =
+      mock(CancelledCallInvite.class, withSettings().stubOnly());
+    when(cancelledCallInvite.getCallSid()).thenReturn(callSid);
+    when(cancelledCallInvite.getFrom()).thenReturn(FROM);
+    when(cancelledCallInvite.getTo()).thenReturn(TO);
+    return cancelledCallInvite;
+  }
+
+  /**
+   * Create a report shaped like the report of an established call: one local and one remote
+   * audio track, and a candidate pair for every two candidates.
+   * @param peerConnectionId the peer connection of the report
+   * @param candidateCount the number of ICE candidates, half of them remote
+   * @param generation varies the traffic counters, so that consecutive reports differ the way
+   *                   they do on a live call while the ICE state stays the same
+   */
+  @NonNull
+  static StatsReport createStatsReport(@NonNull String peerConnectionId,
+                                       int candidateCount,
+                                       long generation) {
+    final List<LocalAudioTrackStats> localAudioTrackStats = Collections.singletonList(
+      createStats(LocalAudioTrackStats.class,
+        "codec", "opus",
+        "ssrc", "1234567890",
+        "trackId", "local-audio",
+        "packetsSent", (int) (50 * generation),
+        "bytesSent", 8000L * generation,
+        "roundTripTime", 42L,
+        "audioLevel", 1200,
+        "jitter", 3,
+        "timestamp", 1.7e12 + generation));
+    final List<RemoteAudioTrackStats> remoteAudioTrackStats = Collections.singletonList(
+      createStats(RemoteAudioTrackStats.class,
+        "codec", "opus",
+        "ssrc", "987654321",
+        "trackId", "remote-audio",
+        "packetsReceived", (int) (50 * generation),
+        "bytesReceived", 8000L * generation,
+        "audioLevel", 900,
+        "jitter", 4,
+        "mos", 4.3,
+        "timestamp", 1.7e12 + generation));
+    final List<IceCandidateStats> iceCandidateStats = new ArrayList<>(candidateCount);
+    for (int i = 0; i < candidateCount; ++i) {
+      iceCandidateStats.add(createStats(IceCandidateStats.class,
+        "transportId", "transport",
+        "isRemote", (0 != (i & 1)),
+        "candidateType", (0 == i % 3) ? "host" : "srflx",
+        "protocol", "udp",
+        "ip", "192.0.2." + (i / 2),
+        "port", 50000 + i,
+        "priority", 2122260223 - i,
+        "url", ""));
+    }
+    final List<IceCandidatePairStats> iceCandidatePairStats = new ArrayList<>(candidateCount / 2);
+    for (int i = 0; i + 1 < candidateCount; i += 2) {
+      iceCandidatePairStats.add(createStats(IceCandidatePairStats.class,
+        "transportId", "transport",
+        "localCandidateId", "local-" + i,
+        "remoteCandidateId", "remote-" + (i + 1),
+        "localCandidateIp", "192.0.2." + (i / 2),
+        "remoteCandidateIp", "192.0.2." + (i / 2),
+        "relayProtocol", "",
+        "state", (0 == i) ? IceCandidatePairState.STATE_SUCCEEDED : IceCandidatePairState.STATE_WAITING,
+        "activeCandidatePair", (0 == i),
+        "nominated", (0 == i),
+        "readable", true,
+        "writeable", true,
+        "bytesSent", 8000L * generation,
+        "bytesReceived", 8000L * generation,
+        "currentRoundTripTime", 0.042,
+        "totalRoundTripTime", 0.042 * generation));
+    }
+    final StatsReport statsReport = mock(StatsReport.class, withSettings().stubOnly());
+    when(statsReport.getPeerConnectionId()).thenReturn(peerConnectionId);
+    when(statsReport.getLocalAudioTrackStats()).thenReturn(localAudioTrackStats);
+    when(statsReport.getRemoteAudioTrackStats()).thenReturn(remoteAudioTrackStats);
+    when(statsReport.getIceCandidateStats()).thenReturn(iceCandidateStats);
+    when(statsReport.getIceCandidatePairStats()).thenReturn(iceCandidatePairStats);
+    return statsReport;
+  }
+
+  /**
+   * Instantiate a stats type without invoking its constructor.
+   * @param type the stats type
+   * @param fields alternating names and values of the public fields to set
+   */
+  @NonNull
+  static <T> T createStats(@NonNull Class<T> type, @NonNull Object... fields) {
+    final T stats = objenesis.newInstance(type);
+    for (int i = 0; i + 1 < fields.length; i += 2) {
+      try {
+        final Field field = type.getField((String) fields[i]);
+        field.setAccessible(true);
+        field.set(stats, fields[i + 1]);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalArgumentException("Cannot set " + type.getSimpleName() + "." + fields[i], e);
+      }
+    }
+    return stats;
+  }
+}
@@ -0,0 +1,216 @@
+package com.twiliovoicereactnative;
+
+import android.app.Application;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.ServiceConnection;
+import android.os.IBinder;
+
+import androidx.annotation.NonNull;
+
+import org.robolectric.RuntimeEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures the cost of {@link VoiceApplicationProxy#onCreate()}, as a whole and per subsystem,
+ * in time and in bytes allocated on the calling thread. Must be used from a Robolectric test, on
+ * the main thread.
+ * <p>
+ * Each iteration first sets up every subsystem on its own, the way onCreate does, then runs
+ * onCreate itself. The first sample of each step includes class loading and is reported apart
+ * from the steady state, so most of the cold cost is attributed to the subsystems. Work posted to
+ * the main thread, such as delivering the bound service, is included in the step that posts it.
+ */
+final class VoiceStartupHarness {
+  enum Step {
+    NOTIFICATION_CHANNELS("notificationChannels"),
+    VOICE_SERVICE("voiceService"),
+    AUDIO_SWITCH("audioSwitch"),
+    MEDIA_PLAYER("mediaPlayer"),
+    ON_CREATE("onCreate");
+
+    final String key;
+
+    Step(@NonNull String key) {
+      this.key = key;
+    }
+  }
+
+  static final class Measurement {
+    final long firstMicros;
+    final long firstAllocatedBytes;
+    final LatencyHistogram.Snapshot steadyLatency;
+    final long steadyAllocatedBytes;
+
+    private Measurement(long firstMicros,
+                        long firstAllocatedBytes,
+                        @NonNull LatencyHistogram.Snapshot steadyLatency,
+                        long steadyAllocatedBytes) {
+      this.firstMicros = firstMicros;
+      this.firstAllocatedBytes = firstAllocatedBytes;
+      this.steadyLatency = steadyLatency;
+      this.steadyAllocatedBytes = steadyAllocatedBytes;
+    }
+
+    /**
+     * @return the mean bytes allocated by an iteration after the first one, -1 if unknown
+     */
+    long getSteadyAllocatedBytesPerIteration() {
+      return ((steadyAllocatedBytes >= 0) && (steadyLatency.getCount() > 0))
+        ? steadyAllocatedBytes / steadyLatency.getCount()
+        : -1;
+    }
+  }
+
+  static final class Report {
+    final int iterations;
+    final Map<Step, Measurement> steps;
+
+    private Report(int iterations, @NonNull Map<Step, Measurement> steps) {
+      this.iterations = iterations;
+      this.steps = Collections.unmodifiableMap(steps);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      StringBuilder report = new StringBuilder(String.format(Locale.US,
+        "startup: %d iterations%n", iterations));
+      for (Map.Entry<Step, Measurement> step: steps.entrySet()) {
+        final Measurement measurement = step.getValue();
+        report.append(String.format(Locale.US,
+          "  %-20s first=%.3f ms %d KB  mean=%.3f p50=%.3f max=%.3f ms %d KB%n",
+          step.getKey().key,
+          measurement.firstMicros / 1000.0,
+          measurement.firstAllocatedBytes / 1024,
+          measurement.steadyLatency.getMeanMillis(),
+          measurement.steadyLatency.getPercentileMillis(50),
+          measurement.steadyLatency.getMaxMillis(),
+          measurement.getSteadyAllocatedBytesPerIteration() / 1024));
+      }
+      return report.toString();
+    }
+  }
+
+  private static final ServiceConnection NO_OP_CONNECTION = new ServiceConnection() {
+    @Override
+    public void onServiceConnected(ComponentName name, IBinder service) {}
+
+    @Override
+    public void onServiceDisconnected(ComponentName name) {}
+  };
+
+  private final Application application;
+  private final com.sun.management.ThreadMXBean threadMXBean;
+  private final Map<Step, long[]> firstSamples = new LinkedHashMap<>();
+  private final Map<Step, LatencyHistogram> steadyLatency = new LinkedHashMap<>();
+  private final Map<Step, Long> steadyAllocatedBytes = new LinkedHashMap<>();
+
+  VoiceStartupHarness() {
+    application = RuntimeEnvironment.getApplication();
+    VoiceTestEnvironment.prepareApplication(application);
+    final java.lang.management.ThreadMXBean platformThreadMXBean =
+      ManagementFactory.getThreadMXBean();
+    if ((platformThreadMXBean instanceof com.sun.management.ThreadMXBean)
+      && ((com.sun.management.ThreadMXBean) platformThreadMXBean).isThreadAllocatedMemorySupported()) {
+      threadMXBean = (com.sun.management.ThreadMXBean) platformThreadMXBean;
+      threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    } else {
+      threadMXBean = null;
+    }
+  }
+
+  /**
+   * @param iterations the number of times each step runs, at least 1
+   */
+  @NonNull
+  Report run(int iterations) {
+    firstSamples.clear();
+    steadyLatency.clear();
+    steadyAllocatedBytes.clear();
+    for (int i = 0; i < Math.max(1, iterations); ++i) {
+      measure(Step.NOTIFICATION_CHANNELS,
+        () -> NotificationUtility.createNotificationChannels(application));
+      NotificationUtility.destroyNotificationChannels(application);
+
+      measure(Step.VOICE_SERVICE, () -> {
+        application.bindService(
+          new Intent(application, VoiceService.class),
+          NO_OP_CONNECTION,
+          Context.BIND_AUTO_CREATE);
+        VoiceTestEnvironment.idleMainLooper();
+      });
+      application.unbindService(NO_OP_CONNECTION);
+
+      final AudioSwitchManager[] audioSwitchManager = new AudioSwitchManager[1];
+      measure(Step.AUDIO_SWITCH, () -> {
+        audioSwitchManager[0] = new AudioSwitchManager(application);
+        audioSwitchManager[0].start();
+      });
+      audioSwitchManager[0].stop();
+
+      measure(Step.MEDIA_PLAYER, () -> new MediaPlayerManager(application));
+
+      final VoiceApplicationProxy voiceApplicationProxy = new VoiceApplicationProxy(application);
+      measure(Step.ON_CREATE, () -> {
+        voiceApplicationProxy.onCreate();
+        VoiceTestEnvironment.idleMainLooper();
+      });
+      voiceApplicationProxy.onTerminate();
+      VoiceTestEnvironment.idleMainLooper();
+    }
+
+    final Map<Step, Measurement> steps = new LinkedHashMap<>();
+    for (Step step: Step.values()) {
+      final long[] firstSample = firstSamples.get(step);
+      final LatencyHistogram latency = steadyLatency.get(step);
+      final Long allocatedBytes = steadyAllocatedBytes.get(step);
+      steps.put(step, new Measurement(
+        firstSample[0],
+        firstSample[1],
+        (null != latency) ? latency.snapshot() : new LatencyHistogram().snapshot(),
+        (null != allocatedBytes) ? allocatedBytes : 0));
+    }
+    return new Report(iterations, steps);
+  }
+
+  private void measure(@NonNull Step step, @NonNull Runnable body) {
+    final long startAllocatedBytes = getAllocatedBytes();
+    final long startTimestamp = System.nanoTime();
+    body.run();
+    final long micros = (System.nanoTime() - startTimestamp) / 1000L;
+    final long allocatedBytes = (startAllocatedBytes >= 0)
+      ? getAllocatedBytes() - startAllocatedBytes
+      : -1;
+    if (!firstSamples.containsKey(step)) {
+      firstSamples.put(step, new long[] { micros, allocatedBytes });
+      return;
+    }
+    LatencyHistogram histogram = steadyLatency.get(step);
+    if (null == histogram) {
+      histogram = new LatencyHistogram();
+      steadyLatency.put(step, histogram);
+    }
+    histogram.record(micros);
+    final Long total = steadyAllocatedBytes.get(step);
+    steadyAllocatedBytes.put(step,
+      ((allocatedBytes < 0) || ((null != total) && (total < 0)))
+        ? -1
+        : ((null != total) ? total : 0) + allocatedBytes);
+  }
+
+  /**
+   * @return the bytes allocated so far by the calling thread, -1 if the JVM does not count them
+   */
+  private long getAllocatedBytes() {
+    return (null != threadMXBean)
+      ? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId())
+      : -1;
+  }
+}
@@ -0,0 +1,27 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Startup cost of the module, per subsystem. The number of iterations is set with the
+ * `voice.startup.iterations` system property, see CONTRIBUTING.md.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class VoiceStartupTest {
+  private static final int ITERATIONS = Integer.getInteger("voice.startup.iterations", 5);
+
+  @Test
+  public void onCreate() {
+    final VoiceStartupHarness.Report report = new VoiceStartupHarness().run(ITERATIONS);
+    if (null != System.getProperty("voice.startup.iterations")) {
+      System.out.print(report);
+    }
+    for (VoiceStartupHarness.Measurement measurement: report.steps.values()) {
+      assertEquals(report.toString(), ITERATIONS - 1, measurement.steadyLatency.getCount());
+    }
+  }
+}
@@ -0,0 +1,474 @@
+package com.twiliovoicereactnative;
+
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getAudioSwitchManager;
+import static com.twiliovoicereactnative.VoiceApplicationProxy.getCallRecordDatabase;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.twilio.audioswitch.AudioDevice;
+import com.twilio.audioswitch.AudioSwitch;
+import com.twilio.voice.Call;
+import com.twilio.voice.Voice;
+
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import kotlin.Unit;
+import kotlin.jvm.functions.Function2;
+
+/**
+ * Exercises the record store and the event paths of the module from the threads that use them
+ * in an application, at the same time:
+ * <ul>
+ *   <li>an FCM-like thread delivers call invites and cancels to the message handler,</li>
+ *   <li>a module thread invokes native methods the way React Native does: listing calls and
+ *   invites, accepting invites, muting calls and requesting stats, listing and selecting audio
+ *   devices,</li>
+ *   <li>an audio thread publishes audio device updates the way AudioSwitch does,</li>
+ *   <li>the main thread runs the work the native methods post to it and plays the part of the
+ *   Voice SDK, connecting accepted calls and hanging some of them up.</li>
+ * </ul>
+ * Every exception thrown on any of these threads is recorded, along with updates that were lost
+ * once the threads stop: promises that never settled, mute states or audio devices that do not
+ * match the last request, and call records left behind after all calls ended. Must be used from
+ * a Robolectric test, on the main thread.
+ */
+final class VoiceStressHarness implements AutoCloseable {
+  private static final int MAX_PENDING_INVITES = 16;
+  private static final long SETTLE_TIMEOUT_MILLIS = 1000;
+  private static final double REMOTE_HANGUP_PROBABILITY = 0.02;
+
+  private enum InviteState { PENDING, ACCEPTED, CANCELLED }
+
+  static final class Report {
+    final long elapsedNanos;
+    final Map<String, Long> operations;
+    final Map<String, Long> failures;
+    final List<String> failureSamples;
+    final List<String> lostUpdates;
+    final List<String> leakedRecords;
+
+    private Report(long elapsedNanos,
+                   @NonNull Map<String, Long> operations,
+                   @NonNull Map<String, Long> failures,
+                   @NonNull List<String> failureSamples,
+                   @NonNull List<String> lostUpdates,
+                   @NonNull List<String> leakedRecords) {
+      this.elapsedNanos = elapsedNanos;
+      this.operations = Collections.unmodifiableMap(operations);
+      this.failures = Collections.unmodifiableMap(failures);
+      this.failureSamples = Collections.unmodifiableList(failureSamples);
+      this.lostUpdates = Collections.unmodifiableList(lostUpdates);
+      this.leakedRecords = Collections.unmodifiableList(leakedRecords);
+    }
+
+    boolean isClean() {
+      return failures.isEmpty() && lostUpdates.isEmpty() && leakedRecords.isEmpty();
+    }
+
+    /**
+     * @return operations per second of the given kind
+     */
+    double getThroughput(@NonNull String operation) {
+      final Long count = operations.get(operation);
+      return ((null != count) && (elapsedNanos > 0)) ? count * 1e9 / elapsedNanos : 0.0;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      StringBuilder report = new StringBuilder(String.format(Locale.US,
+        "stress: %.1f s, %d failures, %d lost updates, %d leaked records%n",
+        elapsedNanos / 1e9,
+        failures.values().stream().mapToLong(Long::longValue).sum(),
+        lostUpdates.size(),
+        leakedRecords.size()));
+      for (Map.Entry<String, Long> operation: operations.entrySet()) {
+        report.append(String.format(Locale.US, "  %-22s %8d %10.1f/s%n",
+          operation.getKey(), operation.getValue(), getThroughput(operation.getKey())));
+      }
+      for (Map.Entry<String, Long> failure: failures.entrySet()) {
+        report.append(String.format(Locale.US, "  failure %s x%d%n",
+          failure.getKey(), failure.getValue()));
+      }
+      for (String sample: failureSamples) {
+        report.append("    ").append(sample).append(System.lineSeparator());
+      }
+      for (String lostUpdate: lostUpdates) {
+        report.append("  lost ").append(lostUpdate).append(System.lineSeparator());
+      }
+      for (String record: leakedRecords) {
+        report.append("  leaked ").append(record).append(System.lineSeparator());
+      }
+      return report.toString();
+    }
+  }
+
+  private final VoiceTestEnvironment environment;
+  private final FakeVoiceSdk voiceSdk = new FakeVoiceSdk();
+  private final TwilioVoiceReactNativeModule module;
+  private final Function2<List<? extends AudioDevice>, AudioDevice, Unit> audioSwitchListener;
+  private final List<AudioDevice> audioDevices = new ArrayList<>();
+  private final Map<String, AtomicLong> operations = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+  private final Queue<String> failureSamples = new ConcurrentLinkedQueue<>();
+  private final Queue<Map.Entry<String, TestPromise>> promises = new ConcurrentLinkedQueue<>();
+  private final Map<String, InviteState> invites = new ConcurrentHashMap<>();
+  private final Queue<String> pendingInvites = new ConcurrentLinkedQueue<>();
+  private final Map<String, String> acceptedCallSids = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> requestedMute = new ConcurrentHashMap<>();
+  private final AtomicReference<Map.Entry<List<AudioDevice>, AudioDevice>> publishedAudioDevices =
+    new AtomicReference<>(null);
+  private final AtomicLong callCounter = new AtomicLong(0);
+  private volatile boolean running = false;
+
+  VoiceStressHarness() {
+    final AtomicReference<Function2<List<? extends AudioDevice>, AudioDevice, Unit>> listener =
+      new AtomicReference<>(null);
+    try (MockedConstruction<AudioSwitch> ignored = mockConstruction(
+      AudioSwitch.class,
+      (audioSwitch, context) -> doAnswer(invocation -> {
+        listener.set(invocation.getArgument(0));
+        return null;
+      }).when(audioSwitch).start(any()))) {
+      environment = new VoiceTestEnvironment();
+    }
+    audioSwitchListener = listener.get();
+    try (MockedStatic<Voice> ignored = mockStatic(Voice.class)) {
+      module = new TwilioVoiceReactNativeModule(
+        new ReactApplicationContext(environment.getApplication()));
+    }
+    audioDevices.add(createAudioDevice(AudioDevice.Earpiece.class, "Earpiece"));
+    audioDevices.add(createAudioDevice(AudioDevice.Speakerphone.class, "Speakerphone"));
+    audioDevices.add(createAudioDevice(AudioDevice.WiredHeadset.class, "Wired Headset"));
+    audioDevices.add(createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset A"));
+    audioDevices.add(createAudioDevice(AudioDevice.BluetoothHeadset.class, "Headset B"));
+  }
+
+  /**
+   * Run the threads for a while, then stop them, settle the outstanding work and end all calls.
+   * @param durationMillis how long the threads run
+   */
+  @NonNull
+  Report run(long durationMillis) {
+    running = true;
+    final List<Thread> threads = new ArrayList<>();
+    threads.add(new Thread(this::runFcmThread, "stress-fcm"));
+    threads.add(new Thread(this::runModuleThread, "stress-module"));
+    threads.add(new Thread(this::runAudioThread, "stress-audio"));
+    final long startTimestamp = System.nanoTime();
+    for (Thread thread: threads) {
+      thread.start();
+    }
+    final Random random = new Random(0);
+    final long deadline = startTimestamp + durationMillis * 1_000_000L;
+    while (System.nanoTime() < deadline) {
+      guard("main", this::idleMainLooper);
+      guard("sdk", () -> driveCalls(random));
+    }
+    running = false;
+    for (Thread thread: threads) {
+      try {
+        thread.join(SETTLE_TIMEOUT_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    guard("main", this::idleMainLooper);
+    final long elapsedNanos = System.nanoTime() - startTimestamp;
+
+    final List<String> lostUpdates = new ArrayList<>();
+    findLostUpdates(lostUpdates);
+    final List<String> leakedRecords = new ArrayList<>();
+    endAllCalls(leakedRecords);
+
+    final Map<String, Long> operationCounts = new TreeMap<>();
+    operations.forEach((key, value) -> operationCounts.put(key, value.get()));
+    final Map<String, Long> failureCounts = new TreeMap<>();
+    failures.forEach((key, value) -> failureCounts.put(key, value.get()));
+    return new Report(
+      elapsedNanos,
+      operationCounts,
+      failureCounts,
+      new ArrayList<>(failureSamples),
+      lostUpdates,
+      leakedRecords);
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    environment.close();
+  }
+
+  /**
+   * Deliver invites, and cancel invites that the module thread has not accepted, the way the
+   * Voice SDK never cancels an accepted invite.
+   */
+  private void runFcmThread() {
+    final Random random = new Random(1);
+    while (running) {
+      if (pendingInvites.size() < MAX_PENDING_INVITES) {
+        final String callSid =
+          String.format(Locale.US, "CA%032d", callCounter.incrementAndGet());
+        invites.put(callSid, InviteState.PENDING);
+        pendingInvites.add(callSid);
+        operation("fcm", "onCallInvite", () ->
+          new VoiceFirebaseMessagingService.MessageHandler().onCallInvite(
+            voiceSdk.createCallInvite(callSid, Collections.singletonMap("tenant", "stress"))));
+      }
+      if (random.nextBoolean()) {
+        final String callSid = pendingInvites.poll();
+        if ((null != callSid) && invites.replace(callSid, InviteState.PENDING, InviteState.CANCELLED)) {
+          operation("fcm", "onCancelledCallInvite", () ->
+            new VoiceFirebaseMessagingService.MessageHandler().onCancelledCallInvite(
+              VoiceStandIns.createCancelledCallInvite(callSid), null));
+        }
+      }
+      Thread.yield();
+    }
+  }
+
+  private void runModuleThread() {
+    final Random random = new Random(2);
+    while (running) {
+      operation("module", "voice_getCalls", () -> module.voice_getCalls(track("voice_getCalls")));
+      operation("module", "voice_getCallInvites", () -> {
+        final TestPromise promise = track("voice_getCallInvites");
+        module.voice_getCallInvites(promise);
+        final ReadableArray callInvites = awaitValue(promise);
+        if ((null != callInvites) && (callInvites.size() > 0)) {
+          accept(callInvites.getMap(random.nextInt(callInvites.size())));
+        }
+      });
+      final List<String> acceptedUuids = new ArrayList<>(acceptedCallSids.keySet());
+      if (!acceptedUuids.isEmpty()) {
+        final String uuid = acceptedUuids.get(random.nextInt(acceptedUuids.size()));
+        final boolean mute = random.nextBoolean();
+        operation("module", "call_mute", () -> {
+          requestedMute.put(uuid, mute);
+          module.call_mute(uuid, mute, track("call_mute"));
+        });
+        operation("module", "call_getStats", () -> module.call_getStats(uuid, track("call_getStats")));
+      }
+      operation("module", "voice_getAudioDevices", () -> {
+        final TestPromise promise = track("voice_getAudioDevices");
+        module.voice_getAudioDevices(promise);
+        final ReadableMap audioDeviceInfo = awaitValue(promise);
+        final ReadableArray devices = (null != audioDeviceInfo)
+          ? audioDeviceInfo.getArray(CommonConstants.AudioDeviceKeyAudioDevices)
+          : null;
+        if ((null != devices) && (devices.size() > 0)) {
+          final String uuid = devices.getMap(random.nextInt(devices.size()))
+            .getString(CommonConstants.AudioDeviceKeyUuid);
+          // selecting a device that was replaced in the meantime is rejected, not a failure
+          module.voice_selectAudioDevice(uuid, new TestPromise());
+          count("voice_selectAudioDevice");
+        }
+      });
+      Thread.yield();
+    }
+  }
+
+  private void runAudioThread() {
+    final Random random = new Random(3);
+    while (running) {
+      final List<AudioDevice> available = new ArrayList<>();
+      for (AudioDevice audioDevice: audioDevices) {
+        if (available.isEmpty() || random.nextBoolean()) {
+          available.add(audioDevice);
+        }
+      }
+      final AudioDevice selected = available.get(random.nextInt(available.size()));
+      publishedAudioDevices.set(new AbstractMap.SimpleImmutableEntry<>(available, selected));
+      operation("audio", "audioDevicesUpdated",
+        () -> audioSwitchListener.invoke(available, selected));
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Accept an invite listed by voice_getCallInvites, unless the FCM thread cancelled it first.
+   */
+  private void accept(@NonNull ReadableMap callInvite) {
+    final String callSid = callInvite.getString(CommonConstants.CallInviteInfoCallSid);
+    final String uuid = callInvite.getString(CommonConstants.CallInviteInfoUuid);
+    if (invites.replace(callSid, InviteState.PENDING, InviteState.ACCEPTED)) {
+      pendingInvites.remove(callSid);
+      acceptedCallSids.put(uuid, callSid);
+      module.callInvite_accept(uuid, Arguments.createMap(), track("callInvite_accept"));
+      count("callInvite_accept");
+    }
+  }
+
+  /**
+   * Play the part of the Voice SDK on the main thread: connect accepted calls and hang up some
+   * of the connected ones from the remote side.
+   */
+  private void driveCalls(@NonNull Random random) {
+    for (String callSid: new ArrayList<>(voiceSdk.getActiveCallSids())) {
+      final FakeVoiceSdk.FakeCall call = voiceSdk.getCall(callSid);
+      if (null == call) {
+        continue;
+      }
+      if (Call.State.CONNECTING == call.getState()) {
+        call.connected();
+        count("onConnected");
+      } else if (random.nextDouble() < REMOTE_HANGUP_PROBABILITY) {
+        acceptedCallSids.values().remove(callSid);
+        call.disconnected(null);
+        count("onDisconnected");
+      }
+    }
+  }
+
+  private void findLostUpdates(@NonNull List<String> lostUpdates) {
+    for (Map.Entry<String, TestPromise> promise: promises) {
+      if (!promise.getValue().isSettled()) {
+        lostUpdates.add("promise of " + promise.getKey() + " never settled");
+      } else if (promise.getValue().getSettledCount() > 1) {
+        lostUpdates.add("promise of " + promise.getKey() + " settled "
+          + promise.getValue().getSettledCount() + " times");
+      }
+    }
+    for (Map.Entry<String, String> accepted: acceptedCallSids.entrySet()) {
+      final FakeVoiceSdk.FakeCall call = voiceSdk.getCall(accepted.getValue());
+      final Boolean mute = requestedMute.get(accepted.getKey());
+      if ((null != call) && (null != mute) && (mute != call.getCall().isMuted())) {
+        lostUpdates.add("mute " + mute + " of call " + accepted.getKey());
+      }
+    }
+    final Map.Entry<List<AudioDevice>, AudioDevice> published = publishedAudioDevices.get();
+    if (null != published) {
+      final AudioSwitchManager audioSwitchManager = getAudioSwitchManager();
+      final Map<String, AudioDevice> current = audioSwitchManager.getAudioDevices();
+      if ((current.size() != published.getKey().size())
+        || !current.values().containsAll(published.getKey())) {
+        lostUpdates.add("audio devices " + current.values() + " instead of " + published.getKey());
+      }
+      if (published.getValue() != audioSwitchManager.getSelectedAudioDevice()) {
+        lostUpdates.add("selected audio device " + audioSwitchManager.getSelectedAudioDevice()
+          + " instead of " + published.getValue());
+      }
+    }
+  }
+
+  /**
+   * Cancel the pending invites and disconnect the calls, then collect the records left behind.
+   */
+  private void endAllCalls(@NonNull List<String> leakedRecords) {
+    for (Map.Entry<String, InviteState> invite: invites.entrySet()) {
+      if (invites.replace(invite.getKey(), InviteState.PENDING, InviteState.CANCELLED)) {
+        guard("drain", () -> new VoiceFirebaseMessagingService.MessageHandler()
+          .onCancelledCallInvite(VoiceStandIns.createCancelledCallInvite(invite.getKey()), null));
+      }
+    }
+    guard("drain", this::idleMainLooper);
+    for (String callSid: new ArrayList<>(voiceSdk.getActiveCallSids())) {
+      final FakeVoiceSdk.FakeCall call = voiceSdk.getCall(callSid);
+      if (null != call) {
+        guard("drain", () -> call.disconnected(null));
+      }
+    }
+    guard("drain", this::idleMainLooper);
+    for (CallRecordDatabase.CallRecord callRecord: getCallRecordDatabase().getCollection()) {
+      leakedRecords.add(callRecord.getUuid() + " " + callRecord.getCallSid());
+    }
+    getCallRecordDatabase().clear();
+  }
+
+  @NonNull
+  private TestPromise track(@NonNull String method) {
+    final TestPromise promise = new TestPromise();
+    promises.add(new AbstractMap.SimpleImmutableEntry<>(method, promise));
+    return promise;
+  }
+
+  /**
+   * Wait for the main thread to settle a promise.
+   * @return the resolved value, null if rejected or not settled in time
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private <T> T awaitValue(@NonNull TestPromise promise) {
+    final long deadline = System.nanoTime() + SETTLE_TIMEOUT_MILLIS * 1_000_000L;
+    while (running && !promise.isSettled() && (System.nanoTime() < deadline)) {
+      Thread.yield();
+    }
+    return promise.isSettled() ? (T) promise.getValue() : null;
+  }
+
+  private void operation(@NonNull String thread,
+                         @NonNull String operation,
+                         @NonNull Runnable body) {
+    guard(thread + "/" + operation, body);
+    count(operation);
+  }
+
+  private void count(@NonNull String operation) {
+    operations.computeIfAbsent(operation, key -> new AtomicLong(0)).incrementAndGet();
+  }
+
+  private void guard(@NonNull String where, @NonNull Runnable body) {
+    try {
+      body.run();
+    } catch (Throwable throwable) {
+      final String failure = where + ": " + throwable.getClass().getSimpleName();
+      if (1 == failures.computeIfAbsent(failure, key -> new AtomicLong(0)).incrementAndGet()) {
+        failureSamples.add(failure + " at " + describeOrigin(throwable));
+      }
+    }
+  }
+
+  private void idleMainLooper() {
+    VoiceTestEnvironment.idleMainLooper();
+  }
+
+  /**
+   * @return the innermost frame of the module in the stack trace of a failure
+   */
+  @NonNull
+  private static String describeOrigin(@NonNull Throwable throwable) {
+    for (StackTraceElement frame: throwable.getStackTrace()) {
+      if (frame.getClassName().startsWith(VoiceStressHarness.class.getPackage().getName())
+        && !frame.getClassName().startsWith(VoiceStressHarness.class.getName())) {
+        return frame.toString();
+      }
+    }
+    return String.valueOf(throwable.getMessage());
+  }
+
+  @NonNull
+  private static <T extends AudioDevice> AudioDevice createAudioDevice(@NonNull Class<T> type,
+                                                                       @NonNull String name) {
+    final T audioDevice = mock(type, withSettings().stubOnly());
+    when(audioDevice.getName()).thenReturn(name);
+    return audioDevice;
+  }
+}
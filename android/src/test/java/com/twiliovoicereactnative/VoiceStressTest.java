@@ -0,0 +1,40 @@
+package com.twiliovoicereactnative;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Concurrency stress of the record store and the event paths. Runs briefly by default; a longer
+ * duration is set with the `voice.stress.seconds` system property, see CONTRIBUTING.md.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class VoiceStressTest {
+  private static final long DEFAULT_DURATION_MILLIS = 2000;
+  private static final Integer SECONDS = Integer.getInteger("voice.stress.seconds");
+  private VoiceStressHarness harness;
+
+  @Before
+  public void setUp() {
+    harness = new VoiceStressHarness();
+  }
+
+  @After
+  public void tearDown() {
+    harness.close();
+  }
+
+  @Test
+  public void concurrentCallsAndAudioDevices() {
+    final VoiceStressHarness.Report report =
+      harness.run((null != SECONDS) ? SECONDS * 1000L : DEFAULT_DURATION_MILLIS);
+    if (null != SECONDS) {
+      System.out.print(report);
+    }
+    assertTrue(report.toString(), report.isClean());
+  }
+}
@@ -0,0 +1,85 @@
+package com.twiliovoicereactnative;
+
+import static org.robolectric.Shadows.shadowOf;
+
+import android.Manifest;
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentName;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.IBinder;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * The module set up under Robolectric the way {@link VoiceApplicationProxy} sets it up in an
+ * application, with the permissions of a call granted and {@link VoiceService} bound. Must be
+ * used from a Robolectric test, on the main thread.
+ */
+final class VoiceTestEnvironment implements AutoCloseable {
+  /**
+   * Stand-in for the main activity of the application, which notifications launch.
+   */
+  public static class MainActivity extends Activity {}
+
+  private final Application application;
+  private final VoiceApplicationProxy voiceApplicationProxy;
+  private final VoiceService.VoiceServiceAPI voiceServiceApi;
+
+  VoiceTestEnvironment() {
+    application = RuntimeEnvironment.getApplication();
+    voiceServiceApi = prepareApplication(application);
+    voiceApplicationProxy = new VoiceApplicationProxy(application);
+    voiceApplicationProxy.onCreate();
+    idleMainLooper();
+  }
+
+  /**
+   * Grant the permissions of a call, register the launcher activity and make binding to
+   * {@link VoiceService} deliver a service set up by Robolectric.
+   * @return the API of the bound service
+   */
+  @NonNull
+  static VoiceService.VoiceServiceAPI prepareApplication(@NonNull Application application) {
+    shadowOf(application).grantPermissions(
+      Manifest.permission.RECORD_AUDIO, Manifest.permission.POST_NOTIFICATIONS);
+    final ComponentName mainActivity = new ComponentName(application, MainActivity.class);
+    final IntentFilter launcher = new IntentFilter(Intent.ACTION_MAIN);
+    launcher.addCategory(Intent.CATEGORY_LAUNCHER);
+    shadowOf(application.getPackageManager()).addActivityIfNotPresent(mainActivity);
+    shadowOf(application.getPackageManager()).addIntentFilterForActivity(mainActivity, launcher);
+
+    final VoiceService voiceService = Robolectric.setupService(VoiceService.class);
+    final IBinder binder = voiceService.onBind(new Intent(application, VoiceService.class));
+    shadowOf(application).setComponentNameAndServiceForBindService(
+      new ComponentName(application, VoiceService.class), binder);
+    return (VoiceService.VoiceServiceAPI) binder;
+  }
+
+  @NonNull
+  Application getApplication() {
+    return application;
+  }
+
+  @NonNull
+  VoiceService.VoiceServiceAPI getVoiceServiceApi() {
+    return voiceServiceApi;
+  }
+
+  /**
+   * Run the tasks posted to the main thread, including those posted while running.
+   */
+  static void idleMainLooper() {
+    shadowOf(Looper.getMainLooper()).idle();
+  }
+
+  @Override
+  public void close() {
+    voiceApplicationProxy.onTerminate();
+  }
+}
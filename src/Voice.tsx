@@ -247,6 +247,18 @@ export class Voice extends EventEmitter {
     (voiceEvent: NativeVoiceEvent) => void
   >;
 
+  /**
+   * The audio devices of the last audio devices event, by UUID. Changes of the
+   * audio devices are applied to them, so that unchanged devices keep their
+   * `AudioDevice` object. Undefined until the first list of audio devices.
+   */
+  private _audioDevices?: Map<Uuid, AudioDevice>;
+
+  /**
+   * The selected audio device of the last audio devices event.
+   */
+  private _selectedAudioDevice?: AudioDevice;
+
   /**
    * Main entry-point of the Voice SDK. Provides access to the entire
    * feature-set of the library.
@@ -276,6 +288,8 @@ export class Voice extends EventEmitter {
        */
       [Constants.VoiceEventAudioDevicesUpdated]:
         this._handleAudioDevicesUpdated,
+      [Constants.VoiceEventAudioDevicesChanged]:
+        this._handleAudioDevicesChanged,
     };
 
     NativeEventEmitter.addListener(
@@ -439,6 +453,72 @@ export class Voice extends EventEmitter {
       selectedDevice: selectedDeviceInfo,
     } = nativeVoiceEvent;
 
+    this._updateAudioDevices(audioDeviceInfos, selectedDeviceInfo);
+  };
+
+  /**
+   * Audio devices changed event handler. Applies the devices added and removed
+   * and the selected device, if it changed, to the last list of audio devices
+   * and emits the updated list. Fetches the whole list instead if there is no
+   * list yet.
+   * @param nativeVoiceEvent - A `Voice` event directly from the native layer.
+   */
+  private _handleAudioDevicesChanged = (nativeVoiceEvent: NativeVoiceEvent) => {
+    if (nativeVoiceEvent.type !== Constants.VoiceEventAudioDevicesChanged) {
+      throw new Error(
+        'Incorrect "voice#audioDevicesChanged" handler called for type ' +
+          `"${nativeVoiceEvent.type}".`
+      );
+    }
+
+    const audioDevices = this._audioDevices;
+    if (typeof audioDevices === 'undefined') {
+      NativeModule.voice_getAudioDevices()
+        .then(({ audioDevices: audioDeviceInfos, selectedDevice }) =>
+          this._updateAudioDevices(audioDeviceInfos, selectedDevice)
+        )
+        .catch(() => {
+          // the list is fetched again on the next change
+        });
+      return;
+    }
+
+    const {
+      added,
+      removed,
+      selectedDeviceChanged,
+      selectedDevice: selectedDeviceInfo,
+    } = nativeVoiceEvent;
+
+    removed.forEach((uuid: Uuid) => audioDevices.delete(uuid));
+    added.forEach((audioDeviceInfo: NativeAudioDeviceInfo) =>
+      audioDevices.set(audioDeviceInfo.uuid, new AudioDevice(audioDeviceInfo))
+    );
+
+    if (selectedDeviceChanged) {
+      this._selectedAudioDevice =
+        typeof selectedDeviceInfo !== 'undefined' && selectedDeviceInfo !== null
+          ? audioDevices.get(selectedDeviceInfo.uuid) ||
+            new AudioDevice(selectedDeviceInfo)
+          : undefined;
+    }
+
+    this.emit(
+      Voice.Event.AudioDevicesUpdated,
+      Array.from(audioDevices.values()),
+      this._selectedAudioDevice
+    );
+  };
+
+  /**
+   * Replace the list of audio devices and emit it.
+   * @param audioDeviceInfos - All audio devices.
+   * @param selectedDeviceInfo - The selected audio device, if any.
+   */
+  private _updateAudioDevices(
+    audioDeviceInfos: NativeAudioDeviceInfo[],
+    selectedDeviceInfo?: NativeAudioDeviceInfo | null
+  ) {
     const audioDevices = audioDeviceInfos.map(
       (audioDeviceInfo: NativeAudioDeviceInfo) =>
         new AudioDevice(audioDeviceInfo)
@@ -449,8 +529,15 @@ export class Voice extends EventEmitter {
         ? new AudioDevice(selectedDeviceInfo)
         : undefined;
 
+    const audioDeviceMap = new Map<Uuid, AudioDevice>();
+    audioDeviceInfos.forEach((audioDeviceInfo, index) =>
+      audioDeviceMap.set(audioDeviceInfo.uuid, audioDevices[index])
+    );
+    this._audioDevices = audioDeviceMap;
+    this._selectedAudioDevice = selectedDevice;
+
     this.emit(Voice.Event.AudioDevicesUpdated, audioDevices, selectedDevice);
-  };
+  }
 
   /**
    * Create an outgoing call.
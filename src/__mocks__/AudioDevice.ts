@@ -1,6 +1,7 @@
 import type { AudioDevice } from '../AudioDevice';
 import type {
   NativeAudioDeviceInfo,
+  NativeAudioDevicesChangedEvent,
   NativeAudioDevicesInfo,
 } from '../type/AudioDevice';
 
@@ -38,3 +39,25 @@ export function createNativeAudioDevicesInfo(): NativeAudioDevicesInfo {
     },
   };
 }
+
+export function createNativeAudioDevicesChangedInfo(): Omit<
+  NativeAudioDevicesChangedEvent,
+  'type'
+> {
+  return {
+    added: [
+      {
+        uuid: 'mock-nativeaudiodeviceinfo-uuid-four',
+        type: 'bluetooth' as AudioDevice.Type,
+        name: 'mock-nativeaudiodeviceinfo-name-four',
+      },
+    ],
+    removed: ['mock-nativeaudiodeviceinfo-uuid-three'],
+    selectedDeviceChanged: true,
+    selectedDevice: {
+      uuid: 'mock-nativeaudiodeviceinfo-uuid-four',
+      type: 'bluetooth' as AudioDevice.Type,
+      name: 'mock-nativeaudiodeviceinfo-name-four',
+    },
+  };
+}
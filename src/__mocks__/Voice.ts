@@ -1,5 +1,8 @@
 import { Constants } from '../constants';
-import { createNativeAudioDevicesInfo } from './AudioDevice';
+import {
+  createNativeAudioDevicesChangedInfo,
+  createNativeAudioDevicesInfo,
+} from './AudioDevice';
 import { createNativeCallInviteInfo } from './CallInvite';
 import { createNativeErrorInfo } from './Error';
 
@@ -7,6 +10,13 @@ import { createNativeErrorInfo } from './Error';
  * Reusable default native call events.
  */
 export const mockVoiceNativeEvents = {
+  audioDevicesChanged: {
+    name: Constants.VoiceEventAudioDevicesChanged,
+    nativeEvent: {
+      type: Constants.VoiceEventAudioDevicesChanged,
+      ...createNativeAudioDevicesChangedInfo(),
+    },
+  },
   audioDevicesUpdated: {
     name: Constants.VoiceEventAudioDevicesUpdated,
     nativeEvent: {
@@ -16,6 +16,7 @@ export const NativeModule = {
    */
   call_disconnect: jest.fn().mockResolvedValue(undefined),
   call_getStats: jest.fn().mockResolvedValue(createStatsReport()),
+  call_getStatsDelta: jest.fn().mockResolvedValue(createStatsReport()),
   call_hold: jest.fn((_uuid: Uuid, hold: boolean) => Promise.resolve(hold)),
   call_isMuted: jest.fn().mockResolvedValue(false),
   call_isOnHold: jest.fn().mockResolvedValue(false),
@@ -49,6 +50,14 @@ export const NativeModule = {
   voice_getDeviceToken: jest
     .fn()
     .mockResolvedValue('mock-nativemodule-devicetoken'),
+  voice_getDiagnosticLogs: jest
+    .fn()
+    .mockResolvedValue('mock-nativemodule-diagnosticlogs'),
+  voice_getMetrics: jest.fn().mockResolvedValue({}),
+  voice_resetMetrics: jest.fn().mockResolvedValue(undefined),
+  voice_setEventSummaryInterval: jest.fn().mockResolvedValue(undefined),
+  voice_setTracingEnabled: jest.fn().mockResolvedValue(undefined),
+  voice_setSounds: jest.fn().mockResolvedValue(undefined),
   voice_getVersion: jest.fn().mockResolvedValue('mock-nativemodule-version'),
   voice_handleEvent: jest.fn().mockResolvedValue(true),
   voice_initializePushRegistry: jest.fn().mockResolvedValue(undefined),
@@ -59,6 +68,8 @@ export const NativeModule = {
   voice_setIncomingCallContactHandleTemplate: jest
     .fn()
     .mockResolvedValue(undefined),
+  voice_setLogLevel: jest.fn().mockResolvedValue(undefined),
+  voice_setLogSampleRate: jest.fn().mockResolvedValue(undefined),
   voice_unregister: jest.fn().mockResolvedValue(undefined),
 };
 
@@ -65,6 +65,7 @@ describe('Voice class', () => {
         // eslint-disable-next-line dot-notation
         const nativeEventHandler = voice['_nativeEventHandler'];
         [
+          Constants.VoiceEventAudioDevicesChanged,
           Constants.VoiceEventAudioDevicesUpdated,
           Constants.VoiceEventTypeValueIncomingCallInvite,
           Constants.VoiceEventError,
@@ -174,6 +175,103 @@ describe('Voice class', () => {
       });
     });
 
+    describe(Constants.VoiceEventAudioDevicesChanged, () => {
+      it('applies the changes to the last audio devices', () => {
+        const voice = new Voice();
+        const listenerMock = jest.fn();
+        voice.on(Voice.Event.AudioDevicesUpdated, listenerMock);
+
+        MockNativeEventEmitter.emit(
+          Constants.ScopeVoice,
+          mockVoiceNativeEvents.audioDevicesUpdated.nativeEvent
+        );
+        MockNativeEventEmitter.emit(
+          Constants.ScopeVoice,
+          mockVoiceNativeEvents.audioDevicesChanged.nativeEvent
+        );
+
+        expect(listenerMock).toHaveBeenCalledTimes(2);
+        const [previousAudioDevices]: [AudioDevice[]] =
+          listenerMock.mock.calls[0];
+        const [audioDevices, selectedDevice]: [AudioDevice[], AudioDevice] =
+          listenerMock.mock.calls[1];
+        expect(audioDevices).toHaveLength(3);
+        expect(audioDevices[0]).toBe(previousAudioDevices[0]);
+        expect(audioDevices[1]).toBe(previousAudioDevices[1]);
+        expect(audioDevices).not.toContain(previousAudioDevices[2]);
+        expect(selectedDevice).toBe(audioDevices[2]);
+        expect(MockAudioDevice.mock.calls[4]).toEqual([
+          mockVoiceNativeEvents.audioDevicesChanged.nativeEvent.added[0],
+        ]);
+      });
+
+      it('keeps the selected device if it did not change', () => {
+        const voice = new Voice();
+        const listenerMock = jest.fn();
+        voice.on(Voice.Event.AudioDevicesUpdated, listenerMock);
+
+        MockNativeEventEmitter.emit(
+          Constants.ScopeVoice,
+          mockVoiceNativeEvents.audioDevicesUpdated.nativeEvent
+        );
+        MockNativeEventEmitter.emit(Constants.ScopeVoice, {
+          ...mockVoiceNativeEvents.audioDevicesChanged.nativeEvent,
+          selectedDeviceChanged: false,
+          selectedDevice: null,
+        });
+
+        expect(listenerMock).toHaveBeenCalledTimes(2);
+        expect(listenerMock.mock.calls[1][1]).toBe(
+          listenerMock.mock.calls[0][1]
+        );
+      });
+
+      it('clears the selected device if it was removed', () => {
+        const voice = new Voice();
+        const listenerMock = jest.fn();
+        voice.on(Voice.Event.AudioDevicesUpdated, listenerMock);
+
+        MockNativeEventEmitter.emit(
+          Constants.ScopeVoice,
+          mockVoiceNativeEvents.audioDevicesUpdated.nativeEvent
+        );
+        MockNativeEventEmitter.emit(Constants.ScopeVoice, {
+          ...mockVoiceNativeEvents.audioDevicesChanged.nativeEvent,
+          added: [],
+          removed: ['mock-nativeaudiodeviceinfo-uuid-two'],
+          selectedDeviceChanged: true,
+          selectedDevice: null,
+        });
+
+        expect(listenerMock).toHaveBeenCalledTimes(2);
+        expect(listenerMock.mock.calls[0][1]).toBeDefined();
+        const [audioDevices, selectedDevice]: [AudioDevice[], AudioDevice] =
+          listenerMock.mock.calls[1];
+        expect(audioDevices).toHaveLength(2);
+        expect(selectedDevice).toBeUndefined();
+      });
+
+      it('fetches the audio devices before the first list', async () => {
+        const voice = new Voice();
+
+        const audioDevicesPromise = new Promise((resolve) => {
+          voice.on(Voice.Event.AudioDevicesUpdated, resolve);
+        });
+
+        MockNativeEventEmitter.emit(
+          Constants.ScopeVoice,
+          mockVoiceNativeEvents.audioDevicesChanged.nativeEvent
+        );
+
+        const audioDevices = await audioDevicesPromise;
+
+        expect(MockNativeModule.voice_getAudioDevices).toHaveBeenCalledTimes(1);
+        expect(audioDevices).toHaveLength(
+          createNativeAudioDevicesInfo().audioDevices.length
+        );
+      });
+    });
+
     describe(Constants.VoiceEventTypeValueIncomingCallInvite, () => {
       it('constructs a pending CallInvite', () => {
         new Voice(); // eslint-disable-line no-new
@@ -831,6 +929,7 @@ describe('Voice class', () => {
      */
     [
       '_handleNativeEvent',
+      '_handleAudioDevicesChanged',
       '_handleAudioDevicesUpdated',
       '_handleCallInvite',
       '_handleError',
@@ -10,9 +10,17 @@ export interface NativeAudioDeviceInfo {
 
 export interface NativeAudioDevicesInfo {
   audioDevices: NativeAudioDeviceInfo[];
-  selectedDevice?: NativeAudioDeviceInfo;
+  selectedDevice?: NativeAudioDeviceInfo | null;
 }
 
 export interface NativeAudioDevicesUpdatedEvent extends NativeAudioDevicesInfo {
   type: Constants.VoiceEventAudioDevicesUpdated;
 }
+
+export interface NativeAudioDevicesChangedEvent {
+  type: Constants.VoiceEventAudioDevicesChanged;
+  added: NativeAudioDeviceInfo[];
+  removed: Uuid[];
+  selectedDeviceChanged: boolean;
+  selectedDevice: NativeAudioDeviceInfo | null;
+}
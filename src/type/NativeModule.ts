@@ -84,4 +84,21 @@ export interface TwilioVoiceReactNative extends NativeModulesStatic {
   voice_selectAudioDevice(audioDeviceUuid: Uuid): Promise<void>;
   voice_showNativeAvRoutePicker(): Promise<void>;
   voice_unregister(accessToken: string): Promise<void>;
+
+  /**
+   * Android only bindings.
+   *
+   * The iOS native module does not implement these, so they are undefined on
+   * iOS and must be checked for before being called. They have no public
+   * wrapper in the `Voice` or `Call` classes.
+   */
+  call_getStatsDelta?(callUuid: Uuid): Promise<RTCStats.StatsReport>;
+  voice_getDiagnosticLogs?(): Promise<string>;
+  voice_getMetrics?(): Promise<Record<string, any>>;
+  voice_resetMetrics?(): Promise<void>;
+  voice_setEventSummaryInterval?(intervalSeconds: number): Promise<void>;
+  voice_setLogLevel?(level: string, module: string | null): Promise<void>;
+  voice_setLogSampleRate?(tag: string, rate: number): Promise<void>;
+  voice_setSounds?(sounds: Record<string, string | null>): Promise<void>;
+  voice_setTracingEnabled?(enabled: boolean): Promise<void>;
 }
@@ -1,5 +1,8 @@
 import type { Constants } from '../constants';
-import type { NativeAudioDevicesUpdatedEvent } from './AudioDevice';
+import type {
+  NativeAudioDevicesChangedEvent,
+  NativeAudioDevicesUpdatedEvent,
+} from './AudioDevice';
 import type { NativeCallInviteInfo } from './CallInvite';
 import type { NativeErrorEvent } from './Error';
 
@@ -17,6 +20,7 @@ export interface NativeCallInviteIncomingEvent {
 }
 
 export type NativeVoiceEvent =
+  | NativeAudioDevicesChangedEvent
   | NativeAudioDevicesUpdatedEvent
   | NativeCallInviteIncomingEvent
   | NativeErrorEvent
@@ -24,6 +28,7 @@ export type NativeVoiceEvent =
   | NativeUnregisteredEvent;
 
 export type NativeVoiceEventType =
+  | Constants.VoiceEventAudioDevicesChanged
   | Constants.VoiceEventAudioDevicesUpdated
   | Constants.VoiceEventTypeValueIncomingCallInvite
   | Constants.VoiceEventError